@@ -0,0 +1,54 @@
+package edu.jcourse.qa.benchmark;
+
+import edu.jcourse.qa.exception.ApiException;
+import edu.jcourse.qa.rest.handler.AppErrorAttributes;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.web.error.ErrorAttributeOptions;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.ServerRequest;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class AppErrorAttributesBenchmark {
+    private final AppErrorAttributes errorAttributes = new AppErrorAttributes();
+    private MockServerWebExchange exchange;
+    private ServerRequest request;
+
+    @Setup
+    public void setUp() {
+        exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/developers/1"));
+        request = ServerRequest.create(exchange, HandlerStrategies.withDefaults().messageReaders());
+        errorAttributes.storeErrorInformation(new ApiException(HttpStatus.NOT_FOUND, "Developer not found"), exchange);
+    }
+
+    @Benchmark
+    public ApiException createException() {
+        return new ApiException(HttpStatus.NOT_FOUND, "Developer not found");
+    }
+
+    /**
+     * Baseline with a filled stack trace to compare against the stackless {@link ApiException}.
+     */
+    @Benchmark
+    public RuntimeException createStackTraceException() {
+        return new RuntimeException("Developer not found");
+    }
+
+    @Benchmark
+    public Map<String, Object> render() {
+        return errorAttributes.getErrorAttributes(request, ErrorAttributeOptions.defaults());
+    }
+
+    @Benchmark
+    public Map<String, Object> createAndRender() {
+        errorAttributes.storeErrorInformation(new ApiException(HttpStatus.NOT_FOUND, "Developer not found"), exchange);
+        return errorAttributes.getErrorAttributes(request, ErrorAttributeOptions.defaults());
+    }
+}
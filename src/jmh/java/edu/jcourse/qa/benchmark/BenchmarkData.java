@@ -0,0 +1,34 @@
+package edu.jcourse.qa.benchmark;
+
+import edu.jcourse.qa.dto.DeveloperDto;
+import edu.jcourse.qa.entity.Developer;
+import edu.jcourse.qa.entity.Status;
+import lombok.experimental.UtilityClass;
+
+@UtilityClass
+class BenchmarkData {
+
+    Developer developer(long id) {
+        return Developer.builder()
+                .id(id)
+                .email("email" + id)
+                .firstName("firstName")
+                .lastName("lastName")
+                .speciality("speciality")
+                .status(Status.ACTIVE)
+                .version(0L)
+                .build();
+    }
+
+    DeveloperDto developerDto(long id) {
+        return DeveloperDto.builder()
+                .id(id)
+                .email("email" + id)
+                .firstName("firstName")
+                .lastName("lastName")
+                .speciality("speciality")
+                .status(Status.ACTIVE)
+                .version(0L)
+                .build();
+    }
+}
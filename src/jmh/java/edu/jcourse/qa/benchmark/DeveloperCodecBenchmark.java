@@ -0,0 +1,76 @@
+package edu.jcourse.qa.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.jcourse.qa.dto.DeveloperDto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encodes a page of 10k developers in every negotiated format. Throughput and {@code gc.alloc.rate.norm}
+ * give the CPU and allocation per page; the payload size, plain and gzipped, is printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DeveloperCodecBenchmark {
+    private static final int SIZE = 10_000;
+    private static final TypeReference<List<DeveloperDto>> DEVELOPERS = new TypeReference<>() {
+    };
+
+    @Param({"json", "smile", "cbor"})
+    public String format;
+
+    private ObjectMapper objectMapper;
+    private List<DeveloperDto> developers;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = switch (format) {
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        developers = LongStream.rangeClosed(1, SIZE)
+                .mapToObj(BenchmarkData::developerDto)
+                .toList();
+        encoded = objectMapper.writeValueAsBytes(developers);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        System.out.printf("%n%s: %d bytes, %d bytes gzipped per %d developers%n",
+                format, encoded.length, gzip(encoded).length, SIZE);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return objectMapper.writeValueAsBytes(developers);
+    }
+
+    @Benchmark
+    public byte[] serializeGzip() throws IOException {
+        return gzip(objectMapper.writeValueAsBytes(developers));
+    }
+
+    @Benchmark
+    public List<DeveloperDto> deserialize() throws IOException {
+        return objectMapper.readValue(encoded, DEVELOPERS);
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+}
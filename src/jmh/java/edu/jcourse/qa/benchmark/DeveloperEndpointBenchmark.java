@@ -0,0 +1,214 @@
+package edu.jcourse.qa.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.jcourse.qa.cache.DeveloperBatchLoader;
+import edu.jcourse.qa.cache.DeveloperCache;
+import edu.jcourse.qa.config.BatchLoaderProperties;
+import edu.jcourse.qa.config.DeveloperCacheProperties;
+import edu.jcourse.qa.config.DeveloperChangeProperties;
+import edu.jcourse.qa.config.IdempotencyProperties;
+import edu.jcourse.qa.config.ReplicaProperties;
+import edu.jcourse.qa.entity.Developer;
+import edu.jcourse.qa.mapper.DeveloperChangeMapperImpl;
+import edu.jcourse.qa.mapper.DeveloperMapperImpl;
+import edu.jcourse.qa.repository.DeveloperArchiveRepository;
+import edu.jcourse.qa.repository.DeveloperChangeRepository;
+import edu.jcourse.qa.repository.DeveloperStatsRepository;
+import edu.jcourse.qa.repository.DeveloperStatsRepository.Headcount;
+import edu.jcourse.qa.repository.DeveloperStore;
+import edu.jcourse.qa.repository.IdempotencyRecordRepository;
+import edu.jcourse.qa.rest.DeveloperRestControllerV1;
+import edu.jcourse.qa.rest.handler.AppErrorAttributes;
+import edu.jcourse.qa.rest.handler.AppErrorWebExceptionHandler;
+import edu.jcourse.qa.service.DeveloperChangeFeed;
+import edu.jcourse.qa.service.DeveloperServiceImpl;
+import edu.jcourse.qa.service.DeveloperStatsSnapshot;
+import edu.jcourse.qa.service.IdempotencyStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.spi.ConnectionFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.r2dbc.convert.MappingR2dbcConverter;
+import org.springframework.data.r2dbc.mapping.R2dbcMappingContext;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.web.reactive.config.EnableWebFlux;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives the full WebFlux stack (routing, controller, service, cache, mapper, Jackson, error handling)
+ * against an in-memory repository.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DeveloperEndpointBenchmark {
+    private static final int SIZE = 10_000;
+    private static final String IDS = "1,2,3,4,5,6,7,8,9,10,11,12,13,14,15,16,17,18,19,20";
+
+    private AnnotationConfigApplicationContext context;
+    private WebTestClient webTestClient;
+
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(BenchmarkConfig.class);
+        webTestClient = WebTestClient.bindToApplicationContext(context).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] findById() {
+        return webTestClient.get()
+                .uri("/api/v1/developers/{id}", 1)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .returnResult()
+                .getResponseBody();
+    }
+
+    @Benchmark
+    public byte[] findByIdNotFound() {
+        return webTestClient.get()
+                .uri("/api/v1/developers/{id}", SIZE + 1)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .returnResult()
+                .getResponseBody();
+    }
+
+    @Benchmark
+    public byte[] findPage() {
+        return webTestClient.get()
+                .uri("/api/v1/developers?limit=100")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .returnResult()
+                .getResponseBody();
+    }
+
+    @Benchmark
+    public byte[] findAllById() {
+        return webTestClient.get()
+                .uri("/api/v1/developers?ids={ids}", IDS)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .returnResult()
+                .getResponseBody();
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @EnableWebFlux
+    @Import({DeveloperRestControllerV1.class, DeveloperServiceImpl.class, DeveloperCache.class,
+            DeveloperBatchLoader.class, DeveloperMapperImpl.class, AppErrorAttributes.class,
+            AppErrorWebExceptionHandler.class})
+    static class BenchmarkConfig {
+
+        @Bean
+        DeveloperStore developerRepository() {
+            return InMemoryDeveloperRepository.create(SIZE);
+        }
+
+        @Bean
+        ConnectionFactory connectionFactory() {
+            return NoDatabase.connectionFactory();
+        }
+
+        /**
+         * Only reads including deleted developers and restores touch the archive, neither is measured.
+         */
+        @Bean
+        DeveloperArchiveRepository developerArchiveRepository(ConnectionFactory connectionFactory) {
+            return new DeveloperArchiveRepository(NoDatabase.databaseClient(connectionFactory),
+                    new MappingR2dbcConverter(new R2dbcMappingContext()),
+                    TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory))) {
+                @Override
+                public Mono<Developer> findById(Long id) {
+                    return Mono.empty();
+                }
+
+                @Override
+                public Flux<Developer> findAllByIds(Long[] ids) {
+                    return Flux.empty();
+                }
+
+                @Override
+                public Flux<Developer> findAllAfter(long afterId, int limit) {
+                    return Flux.empty();
+                }
+
+                @Override
+                public Flux<Developer> streamAll() {
+                    return Flux.empty();
+                }
+            };
+        }
+
+        /**
+         * The change feed is not on the measured paths. It is never started, so it has no listening connection.
+         */
+        @Bean
+        DeveloperChangeFeed developerChangeFeed(ConnectionFactory connectionFactory) {
+            return new DeveloperChangeFeed(connectionFactory,
+                    NoDatabase.emptyRepository(DeveloperChangeRepository.class),
+                    new DeveloperChangeMapperImpl(),
+                    new DeveloperChangeProperties(1024, 100, Duration.ofDays(7)));
+        }
+
+        @Bean
+        DeveloperStatsSnapshot developerStatsSnapshot(ConnectionFactory connectionFactory,
+                                                      DeveloperChangeFeed developerChangeFeed) {
+            DeveloperStatsRepository statsRepository =
+                    new DeveloperStatsRepository(NoDatabase.databaseClient(connectionFactory)) {
+                        @Override
+                        public Flux<Headcount> findAll() {
+                            return Flux.empty();
+                        }
+                    };
+            return new DeveloperStatsSnapshot(statsRepository, developerChangeFeed, Duration.ofSeconds(1),
+                    Duration.ofMinutes(1));
+        }
+
+        @Bean
+        IdempotencyStore idempotencyStore(ObjectProvider<MeterRegistry> meterRegistry) {
+            return new IdempotencyStore(NoDatabase.emptyRepository(IdempotencyRecordRepository.class),
+                    new IdempotencyProperties(SIZE, Duration.ofHours(24)), new ObjectMapper(), meterRegistry);
+        }
+
+        @Bean
+        BatchLoaderProperties batchLoaderProperties() {
+            return new BatchLoaderProperties(true, Duration.ofMillis(2), 128);
+        }
+
+        /**
+         * No replica is configured, the batch loader only needs the read-your-writes window.
+         */
+        @Bean
+        ReplicaProperties replicaProperties() {
+            return new ReplicaProperties(false, null, null, null,
+                    new ReplicaProperties.Pool(5, 20, Duration.ofSeconds(2)),
+                    Duration.ofSeconds(1), Duration.ofSeconds(1), Duration.ofSeconds(2));
+        }
+
+        @Bean
+        DeveloperCacheProperties developerCacheProperties() {
+            return new DeveloperCacheProperties(SIZE, Duration.ofMinutes(5), Duration.ofSeconds(5));
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package edu.jcourse.qa.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.jcourse.qa.dto.DeveloperDto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DeveloperJsonBenchmark {
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private DeveloperDto developerDto;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        developerDto = BenchmarkData.developerDto(1L);
+        json = objectMapper.writeValueAsBytes(developerDto);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return objectMapper.writeValueAsBytes(developerDto);
+    }
+
+    @Benchmark
+    public DeveloperDto deserialize() throws IOException {
+        return objectMapper.readValue(json, DeveloperDto.class);
+    }
+}
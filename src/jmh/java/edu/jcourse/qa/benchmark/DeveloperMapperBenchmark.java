@@ -0,0 +1,39 @@
+package edu.jcourse.qa.benchmark;
+
+import edu.jcourse.qa.dto.DeveloperDto;
+import edu.jcourse.qa.entity.Developer;
+import edu.jcourse.qa.mapper.DeveloperMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DeveloperMapperBenchmark {
+    private final DeveloperMapper mapper = Mappers.getMapper(DeveloperMapper.class);
+    private Developer developer;
+    private DeveloperDto developerDto;
+
+    @Setup
+    public void setUp() {
+        developer = BenchmarkData.developer(1L);
+        developerDto = BenchmarkData.developerDto(1L);
+    }
+
+    @Benchmark
+    public DeveloperDto toDto() {
+        return mapper.toDto(developer);
+    }
+
+    @Benchmark
+    public Developer toEntity() {
+        return mapper.toEntity(developerDto);
+    }
+
+    @Benchmark
+    public Developer copyDtoToEntity() {
+        return mapper.copyDtoToEntity(developerDto, new Developer());
+    }
+}
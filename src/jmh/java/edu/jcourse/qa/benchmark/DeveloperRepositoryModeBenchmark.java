@@ -0,0 +1,90 @@
+package edu.jcourse.qa.benchmark;
+
+import edu.jcourse.qa.ApplicationRunner;
+import edu.jcourse.qa.entity.Developer;
+import edu.jcourse.qa.repository.DeveloperStore;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+import reactor.core.publisher.Flux;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Compares the R2DBC and the virtual-thread JDBC {@link DeveloperStore} against a real Postgres.
+ * One operation is {@code inFlight} concurrent lookups by id: throughput mode gives batches per millisecond,
+ * sample mode gives the latency percentiles of a batch, and {@code gc.alloc.rate.norm} of the {@code gc}
+ * profiler divided by {@code inFlight} gives the memory allocated per in-flight request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DeveloperRepositoryModeBenchmark {
+    private static final int SIZE = 10_000;
+    private static final int SEED_CHUNK = 1_000;
+
+    @Param({"r2dbc", "jdbc"})
+    public String mode;
+
+    @Param({"1", "64", "512"})
+    public int inFlight;
+
+    private PostgreSQLContainer<?> postgres;
+    private ConfigurableApplicationContext context;
+    private DeveloperStore developerRepository;
+
+    @Setup
+    public void setUp() {
+        postgres = new PostgreSQLContainer<>("postgres:16.2");
+        postgres.start();
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.r2dbc.url", "r2dbc:postgresql://%s:%d/%s".formatted(postgres.getHost(),
+                postgres.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT), postgres.getDatabaseName()));
+        properties.put("spring.r2dbc.username", postgres.getUsername());
+        properties.put("spring.r2dbc.password", postgres.getPassword());
+        properties.put("spring.flyway.url", postgres.getJdbcUrl());
+        properties.put("spring.flyway.user", postgres.getUsername());
+        properties.put("spring.flyway.password", postgres.getPassword());
+        properties.put("app.jdbc.url", postgres.getJdbcUrl());
+        properties.put("app.jdbc.username", postgres.getUsername());
+        properties.put("app.jdbc.password", postgres.getPassword());
+        properties.put("app.repository.mode", mode);
+
+        context = new SpringApplicationBuilder(ApplicationRunner.class)
+                .web(WebApplicationType.NONE)
+                .properties(properties)
+                .run();
+        developerRepository = context.getBean(DeveloperStore.class);
+
+        Flux.fromStream(LongStream.rangeClosed(1, SIZE).boxed())
+                .map(id -> {
+                    Developer developer = BenchmarkData.developer(id);
+                    developer.setId(null);
+                    return developer;
+                })
+                .buffer(SEED_CHUNK)
+                .concatMap(developerRepository::insertAll)
+                .blockLast();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+        postgres.stop();
+    }
+
+    @Benchmark
+    public Developer findByIdInFlight() {
+        return Flux.range(0, inFlight)
+                .flatMap(i -> developerRepository.findById(ThreadLocalRandom.current().nextLong(1, SIZE + 1)),
+                        inFlight)
+                .blockLast();
+    }
+}
@@ -0,0 +1,54 @@
+package edu.jcourse.qa.benchmark;
+
+import edu.jcourse.qa.entity.Developer;
+import edu.jcourse.qa.entity.Status;
+import edu.jcourse.qa.repository.DeveloperStore;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * {@link DeveloperStore} stub backed by a sorted map, so benchmarks run without a database.
+ * Only the read methods used on the request hot path are supported.
+ */
+final class InMemoryDeveloperRepository implements InvocationHandler {
+    private final NavigableMap<Long, Developer> developers = new ConcurrentSkipListMap<>();
+
+    private InMemoryDeveloperRepository(int size) {
+        for (long id = 1; id <= size; id++) {
+            developers.put(id, BenchmarkData.developer(id));
+        }
+    }
+
+    static DeveloperStore create(int size) {
+        return (DeveloperStore) Proxy.newProxyInstance(DeveloperStore.class.getClassLoader(),
+                new Class<?>[]{DeveloperStore.class},
+                new InMemoryDeveloperRepository(size));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "findById" -> Mono.justOrEmpty(developers.get((Long) args[0]));
+            case "findAllByIds" -> Flux.fromArray((Long[]) args[0])
+                    .mapNotNull(developers::get);
+            case "findAllAfter" -> Flux.fromIterable(developers.tailMap((Long) args[0], false).values())
+                    .take((Integer) args[1]);
+            case "findAllActiveAfter" -> Flux.fromIterable(developers.tailMap((Long) args[0], false).values())
+                    .filter(developer -> developer.getStatus() == Status.ACTIVE)
+                    .take((Integer) args[1]);
+            case "existsById" -> Mono.just(developers.containsKey((Long) args[0]));
+            case "existsActiveById" -> Mono.just(developers.containsKey((Long) args[0])
+                                                 && developers.get((Long) args[0]).getStatus() == Status.ACTIVE);
+            case "toString" -> InMemoryDeveloperRepository.class.getSimpleName();
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            default -> throw new UnsupportedOperationException(method.getName());
+        };
+    }
+}
@@ -0,0 +1,65 @@
+package edu.jcourse.qa.benchmark;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import org.reactivestreams.Publisher;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.binding.BindMarkersFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Proxy;
+
+/**
+ * Stand-ins for the database side of beans that are wired but not measured by the benchmarks.
+ * Repositories answer empty, and anything that still asks for a connection fails with a clear error.
+ */
+final class NoDatabase {
+
+    private NoDatabase() {
+    }
+
+    static ConnectionFactory connectionFactory() {
+        return new ConnectionFactory() {
+            @Override
+            public Publisher<? extends Connection> create() {
+                return Mono.error(new IllegalStateException("Benchmarks run without a database"));
+            }
+
+            @Override
+            public ConnectionFactoryMetadata getMetadata() {
+                return () -> NoDatabase.class.getSimpleName();
+            }
+        };
+    }
+
+    static DatabaseClient databaseClient(ConnectionFactory connectionFactory) {
+        return DatabaseClient.builder()
+                .connectionFactory(connectionFactory)
+                .bindMarkers(BindMarkersFactory.indexed("$", 1))
+                .build();
+    }
+
+    /**
+     * @return repository whose query methods all complete empty
+     */
+    static <T> T emptyRepository(Class<T> repositoryInterface) {
+        return repositoryInterface.cast(Proxy.newProxyInstance(repositoryInterface.getClassLoader(),
+                new Class<?>[]{repositoryInterface},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "toString" -> repositoryInterface.getSimpleName() + "(empty)";
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> {
+                        if (Flux.class.isAssignableFrom(method.getReturnType())) {
+                            yield Flux.empty();
+                        }
+                        if (Mono.class.isAssignableFrom(method.getReturnType())) {
+                            yield Mono.empty();
+                        }
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                }));
+    }
+}
@@ -0,0 +1,235 @@
+package edu.jcourse.qa.benchmark;
+
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Starts every built variant of the application (plain JVM, AppCDS, native image, CRaC restore) and reports
+ * the time from process start to the first successful request together with the resident set size right
+ * after it. Variants whose artifact has not been built are skipped.
+ * <p>
+ * Not a JMH benchmark, every sample is a new process: {@code ./gradlew startupBenchmark}
+ * (add {@code -Pnative} after {@code nativeCompile -Pnative}, {@code -PcracJavaHome=...} for CRaC).
+ */
+public class StartupBenchmark {
+    private static final String PROBE_PATH = "/api/v1/developers?limit=1";
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+    private static final Duration PROBE_INTERVAL = Duration.ofMillis(5);
+
+    private final PostgreSQLContainer<?> postgres;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+    private final Path logDirectory;
+    private int databases;
+
+    private StartupBenchmark(PostgreSQLContainer<?> postgres) throws IOException {
+        this.postgres = postgres;
+        this.logDirectory = Files.createTempDirectory("startup-benchmark");
+    }
+
+    public static void main(String[] args) throws Exception {
+        int iterations = Integer.getInteger("startup.iterations", 5);
+        try (PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16.2")) {
+            postgres.start();
+            new StartupBenchmark(postgres).run(iterations);
+        }
+    }
+
+    private void run(int iterations) throws Exception {
+        String java = System.getProperty("startup.java");
+        Path bootJar = Path.of(System.getProperty("startup.bootJar"));
+        Path cdsJar = Path.of(System.getProperty("startup.cdsJar"));
+        Path cdsArchive = Path.of(System.getProperty("startup.cdsArchive"));
+        Path nativeImage = Path.of(System.getProperty("startup.native"));
+        String cracJava = System.getProperty("startup.cracJava", "");
+
+        System.out.printf("Logs: %s%n", logDirectory);
+        System.out.printf("%-8s %12s %12s %12s %12s%n", "variant", "ttfr p50 ms", "ttfr min ms", "ttfr max ms", "rss p50 MiB");
+        measure("jvm", bootJar, iterations,
+                properties -> command(properties, java, "-jar", bootJar.toString()));
+        measure("appcds", cdsArchive, iterations,
+                properties -> command(properties, java, "-XX:SharedArchiveFile=" + cdsArchive, "-jar", cdsJar.toString()));
+        measure("native", nativeImage, iterations,
+                properties -> command(properties, nativeImage.toString()));
+        measureCrac(cracJava, cdsJar, iterations);
+    }
+
+    private void measure(String variant, Path artifact, int iterations,
+                         Function<List<String>, List<String>> command) throws Exception {
+        if (!Files.exists(artifact)) {
+            System.out.printf("%-8s skipped, %s not built%n", variant, artifact);
+            return;
+        }
+        List<Sample> samples = new ArrayList<>();
+        for (int i = 0; i < iterations; i++) {
+            int port = freePort();
+            samples.add(start(variant + "-" + i, command.apply(properties(port, createDatabase())), port));
+        }
+        report(variant, samples);
+    }
+
+    /**
+     * A restored process keeps the configuration it was checkpointed with, so the checkpoint is taken once
+     * against its own database and port and every restore reuses them.
+     */
+    private void measureCrac(String cracJava, Path cdsJar, int iterations) throws Exception {
+        if (cracJava.isEmpty()) {
+            System.out.printf("%-8s skipped, no CRaC JDK (-PcracJavaHome)%n", "crac");
+            return;
+        }
+        Path checkpoint = Files.createTempDirectory("startup-benchmark-crac");
+        int port = freePort();
+        Process checkpointing = new ProcessBuilder(command(properties(port, createDatabase()), cracJava,
+                "-XX:CRaCCheckpointTo=" + checkpoint, "-Dspring.context.checkpoint=onRefresh", "-jar", cdsJar.toString()))
+                .redirectErrorStream(true)
+                .redirectOutput(logDirectory.resolve("crac-checkpoint.log").toFile())
+                .start();
+        checkpointing.waitFor();
+
+        List<Sample> samples = new ArrayList<>();
+        for (int i = 0; i < iterations; i++) {
+            samples.add(start("crac-" + i, List.of(cracJava, "-XX:CRaCRestoreFrom=" + checkpoint), port));
+        }
+        report("crac", samples);
+    }
+
+    private Sample start(String name, List<String> command, int port) throws Exception {
+        long startedAt = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(logDirectory.resolve(name + ".log").toFile())
+                .start();
+        try {
+            awaitFirstSuccess(process, port);
+            Duration timeToFirstRequest = Duration.ofNanos(System.nanoTime() - startedAt);
+            return new Sample(timeToFirstRequest, residentSetKib(process.toHandle()));
+        } finally {
+            stop(process);
+        }
+    }
+
+    private void awaitFirstSuccess(Process process, int port) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + PROBE_PATH))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Process exited with " + process.exitValue() + ", see " + logDirectory);
+            }
+            try {
+                if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(PROBE_INTERVAL.toMillis());
+        }
+        throw new IllegalStateException("No successful request within " + STARTUP_TIMEOUT);
+    }
+
+    /**
+     * Sums VmRSS of the process and its children: a CRaC restore runs the application in a child process.
+     */
+    private static long residentSetKib(ProcessHandle process) throws IOException {
+        long total = 0;
+        for (ProcessHandle handle : Stream.concat(Stream.of(process), process.descendants()).toList()) {
+            Path status = Path.of("/proc", Long.toString(handle.pid()), "status");
+            if (!Files.exists(status)) {
+                continue;
+            }
+            for (String line : Files.readAllLines(status)) {
+                if (line.startsWith("VmRSS:")) {
+                    total += Long.parseLong(line.replaceAll("\\D", ""));
+                }
+            }
+        }
+        return total;
+    }
+
+    private static void stop(Process process) throws InterruptedException {
+        process.descendants().forEach(ProcessHandle::destroy);
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.descendants().forEach(ProcessHandle::destroyForcibly);
+            process.destroyForcibly().waitFor();
+        }
+    }
+
+    private static void report(String variant, List<Sample> samples) {
+        List<Long> millis = samples.stream()
+                .map(sample -> sample.timeToFirstRequest().toMillis())
+                .sorted()
+                .toList();
+        List<Long> rss = samples.stream()
+                .map(Sample::rssKib)
+                .sorted()
+                .toList();
+        System.out.printf("%-8s %12d %12d %12d %12.1f%n", variant, median(millis), millis.get(0),
+                millis.get(millis.size() - 1), median(rss) / 1024.0);
+    }
+
+    private static long median(List<Long> sorted) {
+        return sorted.get(sorted.size() / 2);
+    }
+
+    /**
+     * Every start migrates its own empty database, so Flyway is part of each measured startup.
+     */
+    private String createDatabase() throws SQLException {
+        String database = "startup_" + databases++;
+        try (Connection connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(),
+                postgres.getPassword());
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE DATABASE " + database);
+        }
+        return database;
+    }
+
+    private List<String> properties(int port, String database) {
+        String hostAndPort = postgres.getHost() + ":" + postgres.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT);
+        return List.of(
+                "--server.port=" + port,
+                "--spring.r2dbc.url=r2dbc:postgresql://" + hostAndPort + "/" + database,
+                "--spring.r2dbc.username=" + postgres.getUsername(),
+                "--spring.r2dbc.password=" + postgres.getPassword(),
+                "--spring.flyway.url=jdbc:postgresql://" + hostAndPort + "/" + database,
+                "--spring.flyway.user=" + postgres.getUsername(),
+                "--spring.flyway.password=" + postgres.getPassword());
+    }
+
+    private static List<String> command(List<String> properties, String... launcher) {
+        List<String> command = new ArrayList<>(List.of(launcher));
+        command.addAll(properties);
+        return command;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private record Sample(Duration timeToFirstRequest, long rssKib) {
+    }
+}
@@ -0,0 +1,36 @@
+package edu.jcourse.qa.load;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Shape of the seeded developers, so the workload only asks for values that exist: ids {@code 1..rows},
+ * {@code dev<i>@load.test} emails, one of {@link #SPECIALITIES} and a {@code surname<i % SURNAMES>} last name.
+ */
+record Dataset(long rows) {
+    static final List<String> SPECIALITIES = List.of("java", "kotlin", "scala", "go", "rust", "python",
+            "javascript", "typescript", "devops", "qa");
+    static final List<String> FIRST_NAMES = List.of("Ivan", "Anna", "Petr", "Olga", "Sergey", "Maria", "Alexey",
+            "Elena", "Dmitry", "Natalia");
+    static final int SURNAMES = 10_000;
+    /**
+     * Every n-th seeded developer is soft deleted.
+     */
+    static final int DELETED_EVERY = 10;
+
+    long randomId(SplittableRandom random) {
+        return 1 + random.nextLong(rows);
+    }
+
+    String randomSpeciality(SplittableRandom random) {
+        return SPECIALITIES.get(random.nextInt(SPECIALITIES.size()));
+    }
+
+    String randomSurname(SplittableRandom random) {
+        return surname(random.nextInt(SURNAMES));
+    }
+
+    static String surname(long i) {
+        return "surname" + i % SURNAMES;
+    }
+}
@@ -0,0 +1,59 @@
+package edu.jcourse.qa.load;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Bulk loads the {@link Dataset} with one {@code COPY} streamed in chunks, bypassing the application.
+ * The statement level triggers still run once, so {@code developer_stats} matches the seeded rows;
+ * the change log they write is truncated because nobody subscribed to it.
+ */
+final class DatasetSeeder {
+    private static final String COPY_SQL =
+            "COPY developer (email, first_name, last_name, speciality, status) FROM STDIN (FORMAT csv)";
+    private static final int CHUNK_ROWS = 10_000;
+
+    private DatasetSeeder() {
+    }
+
+    static Dataset seed(String jdbcUrl, String username, String password, long rows) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(jdbcUrl, username, password)) {
+            copy(connection, rows);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("TRUNCATE developer_change");
+                statement.execute("VACUUM ANALYZE developer");
+            }
+        }
+        return new Dataset(rows);
+    }
+
+    private static void copy(Connection connection, long rows) throws SQLException {
+        CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL);
+        try {
+            StringBuilder chunk = new StringBuilder(CHUNK_ROWS * 64);
+            for (long i = 1; i <= rows; i++) {
+                chunk.append("dev").append(i).append("@load.test,")
+                        .append(Dataset.FIRST_NAMES.get((int) (i % Dataset.FIRST_NAMES.size()))).append(',')
+                        .append(Dataset.surname(i)).append(',')
+                        .append(Dataset.SPECIALITIES.get((int) (i % Dataset.SPECIALITIES.size()))).append(',')
+                        .append(i % Dataset.DELETED_EVERY == 0 ? "DELETED" : "ACTIVE").append('\n');
+                if (i % CHUNK_ROWS == 0 || i == rows) {
+                    byte[] bytes = chunk.toString().getBytes(StandardCharsets.UTF_8);
+                    copyIn.writeToCopy(bytes, 0, bytes.length);
+                    chunk.setLength(0);
+                }
+            }
+            copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+}
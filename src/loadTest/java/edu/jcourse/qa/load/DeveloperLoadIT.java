@@ -0,0 +1,144 @@
+package edu.jcourse.qa.load;
+
+import org.HdrHistogram.Histogram;
+import org.assertj.core.api.SoftAssertions;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Seeds {@code load.rows} developers, then offers the mixed {@link Operation} workload at {@code load.rate}
+ * requests per second and checks the p99 of every endpoint, the throughput and the error ratio.
+ * Every parameter is a system property, {@code ./gradlew loadTest} passes {@code -Pload.*} through.
+ * <p>
+ * Client and server share the JVM, so the numbers are for comparing changes on the same machine,
+ * not for capacity planning. Rate limiting is switched off, it would reject the load by design.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "app.rate-limit.enabled=false")
+class DeveloperLoadIT {
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16.2");
+    private static final long ROWS = Long.getLong("load.rows", 1_000_000);
+    private static final double RATE = Double.parseDouble(System.getProperty("load.rate", "500"));
+    private static final Duration WARMUP = Duration.parse(System.getProperty("load.warmup", "PT15S"));
+    private static final Duration DURATION = Duration.parse(System.getProperty("load.duration", "PT60S"));
+    private static final long SEED = Long.getLong("load.seed", 42);
+    private static final int MAX_IN_FLIGHT = Integer.getInteger("load.max-in-flight", 2_000);
+    private static final Duration TIMEOUT = Duration.parse(System.getProperty("load.timeout", "PT5S"));
+    private static final double MIN_THROUGHPUT_RATIO =
+            Double.parseDouble(System.getProperty("load.min-throughput-ratio", "0.95"));
+    private static final double MAX_ERROR_RATIO = Double.parseDouble(System.getProperty("load.max-error-ratio", "0.001"));
+
+    private static Dataset dataset;
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void seededDatabase(DynamicPropertyRegistry registry) throws SQLException {
+        POSTGRES.start();
+        Flyway.configure()
+                .dataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+        long started = System.nanoTime();
+        dataset = DatasetSeeder.seed(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword(), ROWS);
+        System.out.printf("Seeded %d developers in %d ms%n", ROWS,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+
+        registry.add("spring.r2dbc.url", () -> "r2dbc:postgresql://%s:%d/%s".formatted(POSTGRES.getHost(),
+                POSTGRES.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT), POSTGRES.getDatabaseName()));
+        registry.add("spring.r2dbc.username", POSTGRES::getUsername);
+        registry.add("spring.r2dbc.password", POSTGRES::getPassword);
+        registry.add("spring.flyway.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.flyway.user", POSTGRES::getUsername);
+        registry.add("spring.flyway.password", POSTGRES::getPassword);
+    }
+
+    @AfterAll
+    static void stopPostgres() {
+        POSTGRES.stop();
+    }
+
+    @Test
+    @DisplayName("Test mixed workload meets latency and throughput objectives functionality")
+    void mixedWorkloadMeetsObjectives() throws Exception {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("load-test")
+                .maxConnections(MAX_IN_FLIGHT)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        try {
+            WebClient client = WebClient.builder()
+                    .baseUrl("http://localhost:" + port)
+                    .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider)))
+                    .build();
+            OpenModelLoadGenerator generator = new OpenModelLoadGenerator(client, dataset, SEED, MAX_IN_FLIGHT, TIMEOUT);
+
+            generator.run(RATE, WARMUP);
+            OpenModelLoadGenerator.LoadResult result = generator.run(RATE, DURATION);
+
+            report(result);
+            assertObjectives(result);
+        } finally {
+            connectionProvider.dispose();
+        }
+    }
+
+    private static void assertObjectives(OpenModelLoadGenerator.LoadResult result) {
+        SoftAssertions softly = new SoftAssertions();
+        result.endpoints().forEach((operation, endpoint) -> softly
+                .assertThat(Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(endpoint.latencies().getValueAtPercentile(99))))
+                .as("p99 of %s", operation.endpoint())
+                .isLessThanOrEqualTo(operation.p99()));
+        softly.assertThat(result.throughput())
+                .as("successful requests per second")
+                .isGreaterThanOrEqualTo(result.offeredRate() * MIN_THROUGHPUT_RATIO);
+        softly.assertThat((double) result.errors() / result.arrivals())
+                .as("error ratio")
+                .isLessThanOrEqualTo(MAX_ERROR_RATIO);
+        softly.assertAll();
+    }
+
+    /**
+     * Prints a summary and writes one HdrHistogram percentile distribution (in milliseconds) per endpoint.
+     */
+    private static void report(OpenModelLoadGenerator.LoadResult result) throws IOException {
+        Path directory = Path.of(System.getProperty("load.reportDirectory", "build/reports/load"));
+        Files.createDirectories(directory);
+        System.out.printf("Offered %.0f req/s for %s, achieved %.1f req/s, %d errors of %d arrivals%n",
+                result.offeredRate(), DURATION, result.throughput(), result.errors(), result.arrivals());
+        System.out.printf("%-28s %10s %10s %10s %10s %10s %8s%n", "endpoint", "count", "p50 ms", "p99 ms",
+                "p99.9 ms", "max ms", "errors");
+        for (Map.Entry<Operation, OpenModelLoadGenerator.LoadResult.Endpoint> entry : result.endpoints().entrySet()) {
+            Operation operation = entry.getKey();
+            Histogram latencies = entry.getValue().latencies();
+            System.out.printf("%-28s %10d %10.2f %10.2f %10.2f %10.2f %8d%n", operation.endpoint(),
+                    latencies.getTotalCount(), latencies.getValueAtPercentile(50) / 1000.0,
+                    latencies.getValueAtPercentile(99) / 1000.0, latencies.getValueAtPercentile(99.9) / 1000.0,
+                    latencies.getMaxValue() / 1000.0, entry.getValue().errors());
+            try (PrintStream out = new PrintStream(Files.newOutputStream(
+                    directory.resolve(operation.name().toLowerCase() + ".hgrm")))) {
+                latencies.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+}
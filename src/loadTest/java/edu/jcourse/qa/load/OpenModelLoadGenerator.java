@@ -0,0 +1,128 @@
+package edu.jcourse.qa.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends requests at a constant arrival rate regardless of how fast responses come back (open model).
+ * <p>
+ * Latency is measured from the time a request was scheduled to be sent rather than from when it was sent,
+ * so a stalled server shows up in the percentiles instead of silently lowering the offered load.
+ * Arrivals beyond {@code maxInFlight} outstanding requests are dropped and counted as errors.
+ */
+class OpenModelLoadGenerator {
+    /**
+     * Stands in for the status of a request that failed or timed out without a response.
+     */
+    private static final int ERROR_STATUS = -1;
+
+    private final WebClient client;
+    private final Dataset dataset;
+    private final SplittableRandom random;
+    private final int maxInFlight;
+    private final Duration timeout;
+    private long sequence;
+
+    OpenModelLoadGenerator(WebClient client, Dataset dataset, long seed, int maxInFlight, Duration timeout) {
+        this.client = client;
+        this.dataset = dataset;
+        this.random = new SplittableRandom(seed);
+        this.maxInFlight = maxInFlight;
+        this.timeout = timeout;
+    }
+
+    LoadResult run(double ratePerSecond, Duration duration) throws InterruptedException {
+        Map<Operation, Recorder> latencies = new EnumMap<>(Operation.class);
+        Map<Operation, LongAdder> successes = new EnumMap<>(Operation.class);
+        Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new Recorder(3));
+            successes.put(operation, new LongAdder());
+            errors.put(operation, new LongAdder());
+        }
+        AtomicInteger inFlight = new AtomicInteger();
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+        long arrivals = duration.toNanos() / intervalNanos;
+
+        long start = System.nanoTime();
+        for (long i = 0; i < arrivals; i++) {
+            long intendedStart = start + i * intervalNanos;
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation operation = Operation.pick(random);
+            if (inFlight.get() >= maxInFlight) {
+                errors.get(operation).increment();
+                continue;
+            }
+            inFlight.incrementAndGet();
+            operation.request(client, random, dataset, sequence++)
+                    .exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode().value()))
+                    .timeout(timeout)
+                    .onErrorResume(e -> Mono.just(ERROR_STATUS))
+                    .subscribe(status -> {
+                        latencies.get(operation).recordValue(
+                                TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStart));
+                        (operation.isExpected(status) ? successes : errors).get(operation).increment();
+                        inFlight.decrementAndGet();
+                    });
+        }
+        awaitCompletion(inFlight);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        Map<Operation, LoadResult.Endpoint> endpoints = new EnumMap<>(Operation.class);
+        latencies.forEach((operation, recorder) -> endpoints.put(operation,
+                new LoadResult.Endpoint(recorder.getIntervalHistogram(), successes.get(operation).sum(),
+                        errors.get(operation).sum())));
+        return new LoadResult(ratePerSecond, arrivals, elapsed, endpoints);
+    }
+
+    private void awaitCompletion(AtomicInteger inFlight) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos() * 2;
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * @param offeredRate requests per second the generator was asked to send
+     * @param arrivals    requests scheduled, including dropped ones
+     * @param elapsed     time from the first arrival until the last response
+     */
+    record LoadResult(double offeredRate, long arrivals, Duration elapsed, Map<Operation, Endpoint> endpoints) {
+
+        /**
+         * @param latencies microseconds from scheduled start to response, dropped arrivals excluded
+         */
+        record Endpoint(Histogram latencies, long successes, long errors) {
+        }
+
+        long errors() {
+            return endpoints.values().stream()
+                    .mapToLong(Endpoint::errors)
+                    .sum();
+        }
+
+        /**
+         * @return successful responses per second
+         */
+        double throughput() {
+            long successes = endpoints.values().stream()
+                    .mapToLong(Endpoint::successes)
+                    .sum();
+            return successes / (elapsed.toNanos() / 1e9);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package edu.jcourse.qa.load;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Requests of the mixed workload with their share of the arrival rate and default p99 objective.
+ * Random ids may point at developers deleted earlier in the run, so {@code 404} is an expected answer.
+ */
+enum Operation {
+    FIND_BY_ID("GET /{id}", 50, Duration.ofMillis(50)) {
+        @Override
+        WebClient.RequestHeadersSpec<?> request(WebClient client, SplittableRandom random, Dataset dataset, long sequence) {
+            return client.get().uri("/api/v1/developers/{id}", dataset.randomId(random));
+        }
+    },
+    FIND_ALL_BY_ID("GET ?ids", 10, Duration.ofMillis(100)) {
+        @Override
+        WebClient.RequestHeadersSpec<?> request(WebClient client, SplittableRandom random, Dataset dataset, long sequence) {
+            String ids = LongStream.generate(() -> dataset.randomId(random))
+                    .limit(20)
+                    .mapToObj(String::valueOf)
+                    .collect(Collectors.joining(","));
+            return client.get().uri("/api/v1/developers?ids={ids}", ids);
+        }
+    },
+    FIND_BY_SPECIALTY("GET /specialty/{specialty}", 10, Duration.ofMillis(100)) {
+        @Override
+        WebClient.RequestHeadersSpec<?> request(WebClient client, SplittableRandom random, Dataset dataset, long sequence) {
+            return client.get().uri("/api/v1/developers/specialty/{specialty}?limit=20", dataset.randomSpeciality(random));
+        }
+    },
+    SEARCH("GET /search", 5, Duration.ofMillis(250)) {
+        @Override
+        WebClient.RequestHeadersSpec<?> request(WebClient client, SplittableRandom random, Dataset dataset, long sequence) {
+            return client.get().uri("/api/v1/developers/search?q={q}", dataset.randomSurname(random));
+        }
+    },
+    CREATE("POST /", 10, Duration.ofMillis(100)) {
+        @Override
+        WebClient.RequestHeadersSpec<?> request(WebClient client, SplittableRandom random, Dataset dataset, long sequence) {
+            return client.post().uri("/api/v1/developers")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue("""
+                            {"email":"new%d@load.test","first_name":"New","last_name":"%s","speciality":"%s"}"""
+                            .formatted(sequence, dataset.randomSurname(random), dataset.randomSpeciality(random)));
+        }
+    },
+    PATCH("PATCH /{id}", 8, Duration.ofMillis(100)) {
+        @Override
+        WebClient.RequestHeadersSpec<?> request(WebClient client, SplittableRandom random, Dataset dataset, long sequence) {
+            return client.patch().uri("/api/v1/developers/{id}", dataset.randomId(random))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue("""
+                            {"speciality":"%s"}""".formatted(dataset.randomSpeciality(random)));
+        }
+    },
+    SOFT_DELETE("DELETE /{id}", 5, Duration.ofMillis(100)) {
+        @Override
+        WebClient.RequestHeadersSpec<?> request(WebClient client, SplittableRandom random, Dataset dataset, long sequence) {
+            return client.delete().uri("/api/v1/developers/{id}", dataset.randomId(random));
+        }
+    },
+    HARD_DELETE("DELETE /{id}?force", 2, Duration.ofMillis(100)) {
+        @Override
+        WebClient.RequestHeadersSpec<?> request(WebClient client, SplittableRandom random, Dataset dataset, long sequence) {
+            return client.delete().uri("/api/v1/developers/{id}?force=true", dataset.randomId(random));
+        }
+    };
+
+    private static final int TOTAL_WEIGHT = 100;
+
+    private final String endpoint;
+    private final int weight;
+    private final Duration defaultP99;
+
+    Operation(String endpoint, int weight, Duration defaultP99) {
+        this.endpoint = endpoint;
+        this.weight = weight;
+        this.defaultP99 = defaultP99;
+    }
+
+    /**
+     * Builds the request on the generator thread, so every random choice follows the seed in arrival order.
+     *
+     * @param sequence number of the arrival, unique within the generator
+     */
+    abstract WebClient.RequestHeadersSpec<?> request(WebClient client, SplittableRandom random, Dataset dataset, long sequence);
+
+    static Operation pick(SplittableRandom random) {
+        int remaining = random.nextInt(TOTAL_WEIGHT);
+        for (Operation operation : values()) {
+            remaining -= operation.weight;
+            if (remaining < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException("Operation weights do not add up to " + TOTAL_WEIGHT);
+    }
+
+    boolean isExpected(int status) {
+        return status / 100 == 2 || status == HttpStatus.NOT_FOUND.value();
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+
+    /**
+     * @return p99 objective, overridden by the {@code load.p99.<operation>} system property (e.g. {@code load.p99.search=PT0.5S})
+     */
+    Duration p99() {
+        String override = System.getProperty("load.p99." + name().toLowerCase().replace('_', '-'));
+        return override == null ? defaultP99 : Duration.parse(override);
+    }
+}
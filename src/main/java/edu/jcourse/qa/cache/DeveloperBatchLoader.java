@@ -0,0 +1,120 @@
+package edu.jcourse.qa.cache;
+
+import edu.jcourse.qa.config.BatchLoaderProperties;
+import edu.jcourse.qa.config.DataSourceRoute;
+import edu.jcourse.qa.config.ReplicaProperties;
+import edu.jcourse.qa.entity.Developer;
+import edu.jcourse.qa.repository.DeveloperStore;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.context.Context;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Merges lookups by id that arrive within {@code app.batch.loader.window} into one
+ * {@code WHERE id = ANY(...)} query and hands every caller its own row, so a burst of lookups costs one
+ * query and one connection checkout instead of one per id.
+ * <p>
+ * A batch is sent when its window ends or when it reaches {@code max-size} ids, whichever comes first.
+ * Lookups that must read from the primary, such as reads after a write of the same request, are batched
+ * apart from replica reads. The query runs in the context of the caller that opened the batch, so its
+ * request timing gets the database time. Batch sizes are recorded as {@code app.batch.loader.size}.
+ */
+@Component
+public class DeveloperBatchLoader {
+
+    private final DeveloperStore developerRepository;
+    private final BatchLoaderProperties properties;
+    private final ReplicaProperties replicaProperties;
+    private final DistributionSummary batchSize;
+    private final Object lock = new Object();
+    private final Map<DataSourceRoute.Target, Batch> pending = new EnumMap<>(DataSourceRoute.Target.class);
+
+    public DeveloperBatchLoader(DeveloperStore developerRepository,
+                                BatchLoaderProperties properties,
+                                ReplicaProperties replicaProperties,
+                                ObjectProvider<MeterRegistry> meterRegistry) {
+        this.developerRepository = developerRepository;
+        this.properties = properties;
+        this.replicaProperties = replicaProperties;
+        this.batchSize = DistributionSummary.builder("app.batch.loader.size")
+                .description("Ids fetched by one batched lookup")
+                .publishPercentileHistogram()
+                .register(meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    public Mono<Developer> load(Long id) {
+        if (!properties.enabled()) {
+            return developerRepository.findById(id);
+        }
+        return Mono.deferContextual(context -> enqueue(id, Context.of(context)).asMono());
+    }
+
+    private Sinks.One<Developer> enqueue(Long id, Context context) {
+        Context readContext = DataSourceRoute.read(context);
+        DataSourceRoute.Target target = DataSourceRoute.target(readContext, replicaProperties.readYourWritesWindow());
+        Sinks.One<Developer> result;
+        Batch full = null;
+        synchronized (lock) {
+            Batch batch = pending.get(target);
+            if (batch == null) {
+                Batch opened = new Batch(DataSourceRoute.route(readContext, target));
+                batch = opened;
+                pending.put(target, opened);
+                Mono.delay(properties.window()).subscribe(tick -> flush(target, opened));
+            }
+            result = batch.results.computeIfAbsent(id, key -> Sinks.one());
+            if (batch.results.size() >= properties.maxSize()) {
+                full = batch;
+                pending.remove(target);
+            }
+        }
+        if (full != null) {
+            dispatch(full);
+        }
+        return result;
+    }
+
+    private void flush(DataSourceRoute.Target target, Batch batch) {
+        synchronized (lock) {
+            if (pending.get(target) != batch) {
+                // already sent because it was full
+                return;
+            }
+            pending.remove(target);
+        }
+        dispatch(batch);
+    }
+
+    private void dispatch(Batch batch) {
+        Map<Long, Sinks.One<Developer>> results = batch.results;
+        batchSize.record(results.size());
+        developerRepository.findAllByIds(results.keySet().toArray(Long[]::new))
+                .contextWrite(batch.context)
+                .subscribe(developer -> {
+                            Sinks.One<Developer> result = results.get(developer.getId());
+                            if (result != null) {
+                                result.tryEmitValue(developer);
+                            }
+                        },
+                        error -> results.values().forEach(result -> result.tryEmitError(error)),
+                        () -> results.values().forEach(Sinks.One::tryEmitEmpty));
+    }
+
+    private static final class Batch {
+        private final Context context;
+        private final Map<Long, Sinks.One<Developer>> results = new HashMap<>();
+
+        private Batch(Context context) {
+            this.context = context;
+        }
+    }
+}
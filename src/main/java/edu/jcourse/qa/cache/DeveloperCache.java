@@ -0,0 +1,108 @@
+package edu.jcourse.qa.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import edu.jcourse.qa.config.DataSourceRoute;
+import edu.jcourse.qa.config.DeveloperCacheProperties;
+import edu.jcourse.qa.entity.Developer;
+import edu.jcourse.qa.entity.Status;
+import edu.jcourse.qa.repository.DeveloperStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Read-through cache in front of {@link DeveloperStore}.
+ * <p>
+ * Concurrent misses for the same key share one in-flight query, misses for different keys are merged into
+ * one query by {@link DeveloperBatchLoader}. The email cache only keeps the id, so every write is invalidated
+ * by id alone and a stale email mapping is detected on read. An evicted id is reloaded from the primary for
+ * a while, as the read replica may not have the write yet.
+ * <p>
+ * Only {@code ACTIVE} developers are cached and returned, a deleted one reads as missing.
+ */
+@Component
+public class DeveloperCache {
+
+    private final DeveloperStore developerRepository;
+    private final DeveloperBatchLoader batchLoader;
+    private final AsyncCache<Long, Developer> developersById;
+    private final AsyncCache<String, Long> idsByEmail;
+    private final Cache<Long, Boolean> recentlyEvicted;
+
+    public DeveloperCache(DeveloperStore developerRepository,
+                          DeveloperBatchLoader batchLoader,
+                          DeveloperCacheProperties properties,
+                          ObjectProvider<MeterRegistry> meterRegistry) {
+        this.developerRepository = developerRepository;
+        this.batchLoader = batchLoader;
+        this.developersById = buildCache(properties);
+        this.idsByEmail = buildCache(properties);
+        this.recentlyEvicted = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.primaryAfterEviction())
+                .build();
+        meterRegistry.ifAvailable(registry -> {
+            CaffeineCacheMetrics.monitor(registry, developersById.synchronous(), "developersById");
+            CaffeineCacheMetrics.monitor(registry, idsByEmail.synchronous(), "developerIdsByEmail");
+        });
+    }
+
+    public Mono<Developer> findById(Long id) {
+        return Mono.fromFuture(developersById.get(id, (key, executor) -> load(key).toFuture()), true);
+    }
+
+    public Mono<Developer> findByEmail(String email) {
+        CompletableFuture<Long> cachedId = idsByEmail.getIfPresent(email);
+        if (cachedId == null) {
+            return loadByEmail(email);
+        }
+        return Mono.fromFuture(cachedId, true)
+                .flatMap(this::findById)
+                .filter(developer -> email.equals(developer.getEmail()))
+                .switchIfEmpty(Mono.defer(() -> {
+                    idsByEmail.synchronous().invalidate(email);
+                    return loadByEmail(email);
+                }));
+    }
+
+    public void evict(Long id) {
+        if (id != null) {
+            recentlyEvicted.put(id, Boolean.TRUE);
+            developersById.synchronous().invalidate(id);
+        }
+    }
+
+    private Mono<Developer> load(Long id) {
+        Mono<Developer> developer = recentlyEvicted.getIfPresent(id) != null ?
+                developerRepository.findById(id).contextWrite(DataSourceRoute::primary) :
+                batchLoader.load(id);
+        return developer.filter(DeveloperCache::isActive);
+    }
+
+    private Mono<Developer> loadByEmail(String email) {
+        return Mono.fromFuture(idsByEmail.get(email, (key, executor) ->
+                        developerRepository.findByEmail(key)
+                                .filter(DeveloperCache::isActive)
+                                .map(Developer::getId)
+                                .toFuture()), true)
+                .flatMap(this::findById);
+    }
+
+    private static boolean isActive(Developer developer) {
+        return developer.getStatus() == Status.ACTIVE;
+    }
+
+    private static <K, V> AsyncCache<K, V> buildCache(DeveloperCacheProperties properties) {
+        return Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.expireAfterWrite())
+                .recordStats()
+                .buildAsync();
+    }
+}
@@ -0,0 +1,24 @@
+package edu.jcourse.qa.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param enabled          whether soft-deleted developers are moved to the archive table
+ * @param retention        how long a soft-deleted developer stays in the hot table before it is archived
+ * @param chunkSize        developers moved by one statement
+ * @param maxRowsPerSecond upper bound on the archival rate, so a large backlog does not compete with requests
+ */
+@ConfigurationProperties(prefix = "app.archive")
+public record ArchiveProperties(
+        @DefaultValue("true")
+        boolean enabled,
+        @DefaultValue("30d")
+        Duration retention,
+        @DefaultValue("500")
+        int chunkSize,
+        @DefaultValue("2000")
+        int maxRowsPerSecond) {
+}
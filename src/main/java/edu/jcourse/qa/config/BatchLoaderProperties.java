@@ -0,0 +1,21 @@
+package edu.jcourse.qa.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param enabled whether lookups by id are merged, otherwise each one is a separate query
+ * @param window  how long the first lookup of a batch waits for others to join it
+ * @param maxSize ids after which a batch is sent without waiting for the window to end
+ */
+@ConfigurationProperties(prefix = "app.batch.loader")
+public record BatchLoaderProperties(
+        @DefaultValue("true")
+        boolean enabled,
+        @DefaultValue("2ms")
+        Duration window,
+        @DefaultValue("128")
+        int maxSize) {
+}
@@ -0,0 +1,46 @@
+package edu.jcourse.qa.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import edu.jcourse.qa.rest.codec.DeveloperCsvDecoder;
+import edu.jcourse.qa.rest.codec.DeveloperCsvEncoder;
+import edu.jcourse.qa.rest.codec.SingleValueCborEncoder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.smile.Jackson2SmileDecoder;
+import org.springframework.http.codec.smile.Jackson2SmileEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Binary Jackson formats chosen through {@code Accept} and {@code Content-Type}: Smile
+ * ({@code application/x-jackson-smile}) and CBOR ({@code application/cbor}). Both use the same Jackson
+ * settings as JSON, so field names stay snake_case. CBOR is written for single values only, streaming
+ * endpoints answer {@code 406} to it. Developers can also be exported and imported as {@code text/csv}.
+ */
+@Configuration(proxyBeanMethods = false)
+public class CodecConfig {
+
+    @Bean
+    public CodecCustomizer binaryJacksonCodecCustomizer(ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder) {
+        ObjectMapper smileMapper = objectMapperBuilder.getObject().factory(new SmileFactory()).build();
+        ObjectMapper cborMapper = objectMapperBuilder.getObject().factory(new CBORFactory()).build();
+        return configurer -> {
+            configurer.defaultCodecs().jackson2SmileEncoder(new Jackson2SmileEncoder(smileMapper));
+            configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(smileMapper));
+            configurer.customCodecs().register(new SingleValueCborEncoder(cborMapper));
+            configurer.customCodecs().register(new Jackson2CborDecoder(cborMapper));
+        };
+    }
+
+    @Bean
+    public CodecCustomizer developerCsvCodecCustomizer() {
+        return configurer -> {
+            configurer.customCodecs().register(new DeveloperCsvEncoder());
+            configurer.customCodecs().register(new DeveloperCsvDecoder());
+        };
+    }
+}
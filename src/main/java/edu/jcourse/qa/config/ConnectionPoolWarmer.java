@@ -0,0 +1,72 @@
+package edu.jcourse.qa.config;
+
+import edu.jcourse.qa.repository.DeveloperRepository;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Wrapped;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Opens the initial pool connections and runs the hot {@link DeveloperRepository} queries on them,
+ * so connection setup and statement preparation happen before the application reports readiness.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ConnectionPoolWarmer {
+    private final ConnectionFactory connectionFactory;
+    private final DeveloperRepository developerRepository;
+    private final R2dbcProperties r2dbcProperties;
+    private final R2dbcDriverProperties driverProperties;
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void warmUp() {
+        R2dbcDriverProperties.Warmup warmup = driverProperties.warmup();
+        if (!warmup.enabled()) {
+            return;
+        }
+        int concurrency = Math.max(1, r2dbcProperties.getPool().getInitialSize());
+        ConnectionFactory primary = connectionFactory;
+        while (!(primary instanceof ConnectionPool) && primary instanceof Wrapped<?> wrapped
+               && wrapped.unwrap() instanceof ConnectionFactory target) {
+            primary = target;
+        }
+        Mono<Integer> connections = primary instanceof ConnectionPool pool ?
+                pool.warmup() :
+                Mono.just(0);
+        int runs = concurrency * warmup.rounds();
+        try {
+            connections
+                    .flatMap(opened -> Flux.range(0, runs)
+                            .flatMap(i -> runHotQueries()
+                                    .thenReturn(i)
+                                    .onErrorResume(e -> {
+                                        log.debug("Warm-up queries failed", e);
+                                        return Mono.empty();
+                                    }), concurrency)
+                            .count()
+                            .doOnNext(succeeded -> log.info(
+                                    "Warmed up {} pool connections, {} of {} hot query runs succeeded",
+                                    opened, succeeded, runs)))
+                    .block(warmup.timeout());
+        } catch (RuntimeException e) {
+            log.warn("Connection pool warm-up failed, continuing startup", e);
+        }
+    }
+
+    private Mono<Void> runHotQueries() {
+        return developerRepository.findById(0L)
+                .thenMany(developerRepository.findAllByIds(new Long[]{0L}))
+                .then(developerRepository.findByEmail(""))
+                .thenMany(developerRepository.findAllAfter(Long.MAX_VALUE, 1))
+                .thenMany(developerRepository.findAllActiveBySpeciality("", Long.MAX_VALUE, 1))
+                .then();
+    }
+}
@@ -0,0 +1,74 @@
+package edu.jcourse.qa.config;
+
+import lombok.experimental.UtilityClass;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reactor context entries deciding which database a connection is taken from.
+ * <p>
+ * Reads may go to the replica unless an outer subscriber asked for the primary, or the request wrote
+ * within the read-your-writes window.
+ */
+@UtilityClass
+public class DataSourceRoute {
+    private static final String ROUTE_KEY = DataSourceRoute.class.getName() + ".route";
+    private static final String LAST_WRITE_KEY = DataSourceRoute.class.getName() + ".lastWrite";
+    private static final long NO_WRITE = Long.MIN_VALUE;
+
+    public enum Target {
+        PRIMARY, REPLICA
+    }
+
+    /**
+     * Marks the operation as a read, keeping a route already chosen by an outer subscriber.
+     */
+    public Context read(Context context) {
+        return context.hasKey(ROUTE_KEY) ? context : context.put(ROUTE_KEY, Target.REPLICA);
+    }
+
+    public Context primary(Context context) {
+        return context.put(ROUTE_KEY, Target.PRIMARY);
+    }
+
+    /**
+     * Starts tracking writes for one request.
+     */
+    public Context trackWrites(Context context) {
+        return context.put(LAST_WRITE_KEY, new AtomicLong(NO_WRITE));
+    }
+
+    public void markWrite(ContextView context) {
+        context.<AtomicLong>getOrEmpty(LAST_WRITE_KEY)
+                .ifPresent(lastWrite -> lastWrite.set(System.nanoTime()));
+    }
+
+    /**
+     * @return database a read in {@code context} would be sent to, if the replica is usable
+     */
+    public Target target(ContextView context, Duration readYourWritesWindow) {
+        return isReplicaRead(context, readYourWritesWindow) ? Target.REPLICA : Target.PRIMARY;
+    }
+
+    /**
+     * Pins {@code context} to {@code target}, so work shared by several callers is routed as decided for all of them.
+     */
+    public Context route(Context context, Target target) {
+        return target == Target.PRIMARY ?
+                primary(context) :
+                context.put(ROUTE_KEY, Target.REPLICA).delete(LAST_WRITE_KEY);
+    }
+
+    public boolean isReplicaRead(ContextView context, Duration readYourWritesWindow) {
+        if (context.getOrDefault(ROUTE_KEY, Target.PRIMARY) != Target.REPLICA) {
+            return false;
+        }
+        long lastWrite = context.<AtomicLong>getOrEmpty(LAST_WRITE_KEY)
+                .map(AtomicLong::get)
+                .orElse(NO_WRITE);
+        return lastWrite == NO_WRITE || System.nanoTime() - lastWrite > readYourWritesWindow.toNanos();
+    }
+}
@@ -0,0 +1,22 @@
+package edu.jcourse.qa.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param maximumSize         entries kept per cache
+ * @param expireAfterWrite    how long a loaded entry is served
+ * @param primaryAfterEviction how long loads of an evicted id bypass the read replica, so a lagging replica
+ *                            does not put the previous version back into the cache
+ */
+@ConfigurationProperties(prefix = "app.cache.developers")
+public record DeveloperCacheProperties(
+        @DefaultValue("10000")
+        long maximumSize,
+        @DefaultValue("5m")
+        Duration expireAfterWrite,
+        @DefaultValue("5s")
+        Duration primaryAfterEviction) {
+}
@@ -0,0 +1,22 @@
+package edu.jcourse.qa.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param bufferSize   changes buffered per subscriber before a slow subscriber is dropped
+ * @param replayWindow offsets below the highest delivered one that are read again, so changes committed out of
+ *                     offset order are still delivered
+ * @param retention    how long changes are kept for subscribers resuming from an offset
+ */
+@ConfigurationProperties(prefix = "app.changes")
+public record DeveloperChangeProperties(
+        @DefaultValue("1024")
+        int bufferSize,
+        @DefaultValue("100")
+        int replayWindow,
+        @DefaultValue("7d")
+        Duration retention) {
+}
@@ -0,0 +1,18 @@
+package edu.jcourse.qa.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param maximumSize completed responses kept in memory
+ * @param retention   how long a key is remembered, after it a retry is executed again
+ */
+@ConfigurationProperties(prefix = "app.idempotency")
+public record IdempotencyProperties(
+        @DefaultValue("10000")
+        long maximumSize,
+        @DefaultValue("24h")
+        Duration retention) {
+}
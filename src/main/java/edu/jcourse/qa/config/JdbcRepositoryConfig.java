@@ -0,0 +1,64 @@
+package edu.jcourse.qa.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import edu.jcourse.qa.repository.DeveloperRepository;
+import edu.jcourse.qa.repository.DeveloperStore;
+import edu.jcourse.qa.repository.JdbcDeveloperRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Executors;
+
+/**
+ * Makes {@link JdbcDeveloperRepository} the primary {@link DeveloperStore} instead of the R2DBC
+ * {@link DeveloperRepository} when {@code app.repository.mode=jdbc}. The change feed keeps using R2DBC in both modes.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "app.repository", name = "mode", havingValue = "jdbc")
+public class JdbcRepositoryConfig {
+
+    /**
+     * Pool settings are bound from {@code app.jdbc.hikari}; a service connection, when present, wins over
+     * the configured url and credentials.
+     */
+    @Bean
+    @ConfigurationProperties(prefix = "app.jdbc.hikari")
+    public HikariDataSource jdbcDataSource(@Value("${app.jdbc.url}") String url,
+                                           @Value("${app.jdbc.username}") String username,
+                                           @Value("${app.jdbc.password}") String password,
+                                           ObjectProvider<JdbcConnectionDetails> connectionDetails) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("jdbc-developer");
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        connectionDetails.ifAvailable(details -> {
+            dataSource.setJdbcUrl(details.getJdbcUrl());
+            dataSource.setUsername(details.getUsername());
+            dataSource.setPassword(details.getPassword());
+        });
+        return dataSource;
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler jdbcScheduler() {
+        return Schedulers.fromExecutorService(Executors.newVirtualThreadPerTaskExecutor(), "jdbc-virtual");
+    }
+
+    @Bean
+    @Primary
+    public DeveloperStore jdbcDeveloperRepository(HikariDataSource jdbcDataSource,
+                                                       Scheduler jdbcScheduler,
+                                                       @Value("${app.repository.fetch-size:256}") int fetchSize) {
+        return new JdbcDeveloperRepository(JdbcClient.create(jdbcDataSource), jdbcScheduler, fetchSize);
+    }
+}
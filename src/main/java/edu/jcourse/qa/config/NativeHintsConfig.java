@@ -0,0 +1,54 @@
+package edu.jcourse.qa.config;
+
+import edu.jcourse.qa.dto.BatchResultDto;
+import edu.jcourse.qa.dto.DeveloperChangeDto;
+import edu.jcourse.qa.dto.DeveloperDto;
+import edu.jcourse.qa.dto.DeveloperMatchDto;
+import edu.jcourse.qa.dto.DeveloperStatsDto;
+import edu.jcourse.qa.dto.ImportResultDto;
+import edu.jcourse.qa.entity.ChangeType;
+import edu.jcourse.qa.entity.Developer;
+import edu.jcourse.qa.entity.DeveloperChange;
+import edu.jcourse.qa.entity.IdempotencyRecord;
+import edu.jcourse.qa.entity.Status;
+import edu.jcourse.qa.repository.DeveloperRepository;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.Statement;
+import io.r2dbc.spi.Wrapped;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.data.repository.Repository;
+import org.springframework.transaction.interceptor.TransactionalProxy;
+
+/**
+ * Reflection and proxy hints for the native image. Only consulted at build time by Spring AOT,
+ * a regular JVM run ignores them.
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(NativeHintsConfig.DeveloperRuntimeHints.class)
+public class NativeHintsConfig {
+
+    static class DeveloperRuntimeHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                    DeveloperDto.class, DeveloperMatchDto.class, DeveloperChangeDto.class, DeveloperStatsDto.class,
+                    BatchResultDto.class, ImportResultDto.class,
+                    Developer.class, DeveloperChange.class, IdempotencyRecord.class, Status.class, ChangeType.class);
+            // Repository proxies gain advice at runtime (metrics, replica routing), so register the exact
+            // interface set Spring Data proxies DeveloperRepository with.
+            hints.proxies().registerJdkProxy(AopProxyUtils.completeJdkProxyInterfaces(
+                    DeveloperRepository.class, Repository.class, TransactionalProxy.class));
+            // statement recording of sampled requests
+            hints.proxies().registerJdkProxy(Connection.class, Wrapped.class);
+            hints.proxies().registerJdkProxy(Statement.class);
+            hints.resources().registerPattern("db/migration/*.sql");
+            hints.resources().registerPattern("db/migration/*.sql.conf");
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package edu.jcourse.qa.config;
+
+import io.r2dbc.postgresql.PostgresqlConnectionFactoryProvider;
+import org.springframework.boot.autoconfigure.r2dbc.ConnectionFactoryOptionsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration(proxyBeanMethods = false)
+public class R2dbcConfig {
+
+    @Bean
+    public ConnectionFactoryOptionsBuilderCustomizer postgresDriverOptionsCustomizer(R2dbcDriverProperties properties) {
+        return builder -> builder.option(PostgresqlConnectionFactoryProvider.PREPARED_STATEMENT_CACHE_QUERIES,
+                properties.preparedStatementCacheQueries());
+    }
+}
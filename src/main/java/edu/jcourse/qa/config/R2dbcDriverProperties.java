@@ -0,0 +1,35 @@
+package edu.jcourse.qa.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Postgres driver settings not covered by {@code spring.r2dbc.pool}.
+ *
+ * @param preparedStatementCacheQueries number of server-side prepared statements cached per connection,
+ *                                      {@code -1} for unlimited and {@code 0} to disable
+ * @param warmup                        connection and statement warm-up performed before the application is ready
+ */
+@ConfigurationProperties(prefix = "app.r2dbc")
+public record R2dbcDriverProperties(
+        @DefaultValue("256")
+        int preparedStatementCacheQueries,
+        @DefaultValue
+        Warmup warmup) {
+
+    /**
+     * @param enabled whether to warm up the pool on startup
+     * @param rounds  how many times each hot query is run on every initial connection
+     * @param timeout upper bound for the whole warm-up, startup continues after it
+     */
+    public record Warmup(
+            @DefaultValue("true")
+            boolean enabled,
+            @DefaultValue("2")
+            int rounds,
+            @DefaultValue("30s")
+            Duration timeout) {
+    }
+}
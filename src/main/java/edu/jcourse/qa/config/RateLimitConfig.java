@@ -0,0 +1,17 @@
+package edu.jcourse.qa.config;
+
+import edu.jcourse.qa.rest.filter.RateLimitWebFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "app.rate-limit", name = "enabled", havingValue = "true")
+public class RateLimitConfig {
+
+    @Bean
+    public RateLimitWebFilter rateLimitWebFilter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        return new RateLimitWebFilter(properties, meterRegistry);
+    }
+}
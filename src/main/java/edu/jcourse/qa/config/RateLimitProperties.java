@@ -0,0 +1,73 @@
+package edu.jcourse.qa.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * @param clientIdHeader    header identifying the client, trusted only on requests from {@code trustedProxies}
+ * @param trustedProxies    addresses of proxies allowed to set {@code clientIdHeader}
+ * @param maxClients        clients whose rate limits are tracked at once, the least recent ones are forgotten
+ * @param idleClientTimeout how long an idle client keeps its rate limit state
+ * @param excludePaths      path patterns never limited, such as long-lived change streams
+ * @param endpoints         limits per endpoint group, the first group matching a request applies
+ */
+@ConfigurationProperties(prefix = "app.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("X-Client-Id")
+        String clientIdHeader,
+        @DefaultValue
+        List<String> trustedProxies,
+        @DefaultValue("100000")
+        long maxClients,
+        @DefaultValue("10m")
+        Duration idleClientTimeout,
+        @DefaultValue
+        List<String> excludePaths,
+        @DefaultValue
+        List<Endpoint> endpoints) {
+
+    /**
+     * @param name             group name used in metrics
+     * @param methods          HTTP methods of the group
+     * @param paths            path patterns of the group
+     * @param permitsPerSecond sustained requests per second allowed to one client
+     * @param burst            requests one client may send at once after being idle
+     * @param holdStreams      whether a streamed request keeps its slot until it completes, for bulk transfers
+     *                         whose duration is not a latency sample
+     * @param concurrency      adaptive limit of requests in flight for the whole group
+     */
+    public record Endpoint(
+            String name,
+            List<String> methods,
+            List<String> paths,
+            double permitsPerSecond,
+            int burst,
+            @DefaultValue("false")
+            boolean holdStreams,
+            @DefaultValue
+            Concurrency concurrency) {
+    }
+
+    /**
+     * The limit grows by one while responses are fast and the limit is in use, and shrinks by
+     * {@code backoffRatio} on every overload failure or when the mean latency of {@code sampleWindow}
+     * responses exceeds {@code latencyThreshold}.
+     */
+    public record Concurrency(
+            @DefaultValue("32")
+            int initialLimit,
+            @DefaultValue("4")
+            int minLimit,
+            @DefaultValue("256")
+            int maxLimit,
+            @DefaultValue("200ms")
+            Duration latencyThreshold,
+            @DefaultValue("0.9")
+            double backoffRatio,
+            @DefaultValue("20")
+            int sampleWindow) {
+    }
+}
@@ -0,0 +1,42 @@
+package edu.jcourse.qa.config;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+
+/**
+ * Marks read methods of a reactive repository for the replica and records writes for read-your-writes.
+ */
+class ReadRoutingInterceptor implements MethodInterceptor {
+    private static final Set<String> READ_PREFIXES = Set.of("find", "search", "stream");
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Object result = invocation.proceed();
+        boolean read = isRead(invocation.getMethod().getName());
+        if (result instanceof Mono<?> mono) {
+            return read ?
+                    mono.contextWrite(DataSourceRoute::read) :
+                    Mono.deferContextual(context -> {
+                        DataSourceRoute.markWrite(context);
+                        return mono;
+                    });
+        }
+        if (result instanceof Flux<?> flux) {
+            return read ?
+                    flux.contextWrite(DataSourceRoute::read) :
+                    Flux.deferContextual(context -> {
+                        DataSourceRoute.markWrite(context);
+                        return flux;
+                    });
+        }
+        return result;
+    }
+
+    private static boolean isRead(String methodName) {
+        return READ_PREFIXES.stream().anyMatch(methodName::startsWith);
+    }
+}
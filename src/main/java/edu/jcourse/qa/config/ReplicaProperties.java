@@ -0,0 +1,40 @@
+package edu.jcourse.qa.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param enabled              whether reads are routed to the replica
+ * @param url                  R2DBC url of the read replica
+ * @param pool                 replica connection pool
+ * @param maxLag               replication lag above which reads fall back to the primary
+ * @param lagCheckInterval     how often the replica lag is measured
+ * @param readYourWritesWindow after a write, reads of the same request go to the primary for this long
+ */
+@ConfigurationProperties(prefix = "app.replica")
+public record ReplicaProperties(
+        @DefaultValue("false")
+        boolean enabled,
+        String url,
+        String username,
+        String password,
+        @DefaultValue
+        Pool pool,
+        @DefaultValue("1s")
+        Duration maxLag,
+        @DefaultValue("1s")
+        Duration lagCheckInterval,
+        @DefaultValue("2s")
+        Duration readYourWritesWindow) {
+
+    public record Pool(
+            @DefaultValue("5")
+            int initialSize,
+            @DefaultValue("20")
+            int maxSize,
+            @DefaultValue("2s")
+            Duration maxAcquireTime) {
+    }
+}
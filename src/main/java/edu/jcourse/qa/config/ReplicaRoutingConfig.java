@@ -0,0 +1,94 @@
+package edu.jcourse.qa.config;
+
+import edu.jcourse.qa.repository.DeveloperRepository;
+import edu.jcourse.qa.rest.filter.ReadYourWritesWebFilter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.postgresql.PostgresqlConnectionFactoryProvider;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.actuate.metrics.r2dbc.ConnectionPoolMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * Routes {@link DeveloperRepository} reads to the read replica configured under {@code app.replica}.
+ * The auto-configured pool stays the primary and is wrapped by {@link ReplicaRoutingConnectionFactory}.
+ * With {@code app.server-timing.enabled} the replica pool is timed like the primary one.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "app.replica", name = "enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    static BeanPostProcessor replicaRoutingBeanPostProcessor(ObjectProvider<ReplicaProperties> replicaProperties,
+                                                             ObjectProvider<R2dbcDriverProperties> driverProperties,
+                                                             ObjectProvider<ServerTimingProperties> timingProperties,
+                                                             ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repositoryInformation) -> {
+                                if (repositoryInformation.getRepositoryInterface() == DeveloperRepository.class) {
+                                    proxyFactory.addAdvice(new ReadRoutingInterceptor());
+                                }
+                            }));
+                }
+                return bean;
+            }
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof ConnectionFactory primary && !(bean instanceof ReplicaRoutingConnectionFactory)) {
+                    ReplicaProperties properties = replicaProperties.getObject();
+                    ConnectionPool replica = replicaPool(properties, driverProperties.getObject());
+                    meterRegistry.ifAvailable(registry -> new ConnectionPoolMetrics(replica, "replica", Tags.empty())
+                            .bindTo(registry));
+                    ConnectionFactory replicaTarget = timingProperties.getObject().enabled() ?
+                            new TimedConnectionFactory(replica) :
+                            replica;
+                    return new ReplicaRoutingConnectionFactory(primary, replica, replicaTarget, properties);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public ReadYourWritesWebFilter readYourWritesWebFilter() {
+        return new ReadYourWritesWebFilter();
+    }
+
+    @Bean
+    public Gauge replicaLagGauge(ConnectionFactory connectionFactory, MeterRegistry meterRegistry) {
+        ReplicaRoutingConnectionFactory routing = (ReplicaRoutingConnectionFactory) connectionFactory;
+        return Gauge.builder("app.replica.lag", routing, ReplicaRoutingConnectionFactory::getLagSeconds)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    private static ConnectionPool replicaPool(ReplicaProperties properties, R2dbcDriverProperties driverProperties) {
+        ConnectionFactory replica = ConnectionFactoryBuilder.withUrl(properties.url())
+                .username(properties.username())
+                .password(properties.password())
+                .configure(options -> options.option(PostgresqlConnectionFactoryProvider.PREPARED_STATEMENT_CACHE_QUERIES,
+                        driverProperties.preparedStatementCacheQueries()))
+                .build();
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(replica)
+                .name("replica")
+                .initialSize(properties.pool().initialSize())
+                .maxSize(properties.pool().maxSize())
+                .maxAcquireTime(properties.pool().maxAcquireTime())
+                .validationQuery("SELECT 1")
+                .build());
+    }
+}
@@ -0,0 +1,120 @@
+package edu.jcourse.qa.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Wrapped;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.r2dbc.connection.lookup.AbstractRoutingConnectionFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Sends reads marked through {@link DataSourceRoute} to the replica pool and everything else to the primary.
+ * <p>
+ * Replication lag is measured in the background; while it exceeds {@code maxLag} or the replica cannot be
+ * reached, reads fall back to the primary. Unwraps to the primary, so pool metrics and the dedicated change
+ * feed connection keep working on it.
+ */
+@Slf4j
+public class ReplicaRoutingConnectionFactory extends AbstractRoutingConnectionFactory implements Wrapped<ConnectionFactory> {
+    private static final String LAG_SQL = """
+            SELECT CASE
+                       WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                       ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+                   END::float8""";
+
+    private final ConnectionFactory primary;
+    private final ConnectionPool replica;
+    private final ReplicaProperties properties;
+    private final Disposable lagMonitor;
+    private volatile boolean replicaUsable;
+    private volatile double lagSeconds = Double.NaN;
+
+    /**
+     * @param replicaTarget factory replica reads are routed to: {@code replica} itself or a decorator of it
+     */
+    public ReplicaRoutingConnectionFactory(ConnectionFactory primary, ConnectionPool replica,
+                                           ConnectionFactory replicaTarget, ReplicaProperties properties) {
+        this.primary = primary;
+        this.replica = replica;
+        this.properties = properties;
+        setDefaultTargetConnectionFactory(primary);
+        setTargetConnectionFactories(Map.of(DataSourceRoute.Target.REPLICA, replicaTarget));
+        afterPropertiesSet();
+        this.lagMonitor = Flux.interval(Duration.ZERO, properties.lagCheckInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> measureLag(), 1)
+                .subscribe(this::updateLag);
+    }
+
+    @Override
+    public ConnectionFactory unwrap() {
+        return primary;
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    /**
+     * @return last measured replication lag, {@code NaN} when the replica could not be reached
+     */
+    public double getLagSeconds() {
+        return lagSeconds;
+    }
+
+    public ConnectionPool getReplica() {
+        return replica;
+    }
+
+    /**
+     * Called as the destroy method of the primary pool bean this factory replaces.
+     */
+    public void dispose() {
+        lagMonitor.dispose();
+        replica.dispose();
+        if (primary instanceof Disposable disposable) {
+            disposable.dispose();
+        }
+    }
+
+    @Override
+    protected Mono<Object> determineCurrentLookupKey() {
+        return Mono.deferContextual(this::lookupKey);
+    }
+
+    private Mono<Object> lookupKey(ContextView context) {
+        if (replicaUsable && DataSourceRoute.isReplicaRead(context, properties.readYourWritesWindow())) {
+            return Mono.just(DataSourceRoute.Target.REPLICA);
+        }
+        return Mono.empty();
+    }
+
+    private Mono<Double> measureLag() {
+        return Mono.usingWhen(replica.create(),
+                        connection -> Flux.from(connection.createStatement(LAG_SQL).execute())
+                                .flatMap(result -> result.map((row, metadata) -> row.get(0, Double.class)))
+                                .next(),
+                        Connection::close)
+                .timeout(properties.lagCheckInterval())
+                .onErrorResume(e -> {
+                    log.debug("Replica lag check failed", e);
+                    return Mono.just(Double.NaN);
+                });
+    }
+
+    private void updateLag(double lag) {
+        boolean usable = !Double.isNaN(lag) && lag <= properties.maxLag().toMillis() / 1000.0;
+        if (usable != replicaUsable) {
+            log.info("Replica reads {} (lag {}s)", usable ? "enabled" : "disabled", lag);
+        }
+        lagSeconds = lag;
+        replicaUsable = usable;
+    }
+}
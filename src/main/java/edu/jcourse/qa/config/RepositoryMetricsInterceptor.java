@@ -0,0 +1,66 @@
+package edu.jcourse.qa.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times reactive repository methods from subscription to the terminal signal.
+ * Spring Boot's repository listener only sees the method call that assembles the publisher.
+ */
+class RepositoryMetricsInterceptor implements MethodInterceptor {
+    static final String METRIC_NAME = "app.repository.invocations";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final String repository;
+    private final Map<Method, Map<SignalType, Timer>> timers = new ConcurrentHashMap<>();
+
+    RepositoryMetricsInterceptor(ObjectProvider<MeterRegistry> meterRegistry, Class<?> repositoryInterface) {
+        this.meterRegistry = meterRegistry;
+        this.repository = repositoryInterface.getSimpleName();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Object result = invocation.proceed();
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry == null) {
+            return result;
+        }
+
+        Method method = invocation.getMethod();
+        if (result instanceof Mono<?> mono) {
+            return Mono.defer(() -> {
+                long start = System.nanoTime();
+                return mono.doFinally(signal -> record(registry, method, signal, start));
+            });
+        }
+        if (result instanceof Flux<?> flux) {
+            return Flux.defer(() -> {
+                long start = System.nanoTime();
+                return flux.doFinally(signal -> record(registry, method, signal, start));
+            });
+        }
+        return result;
+    }
+
+    private void record(MeterRegistry registry, Method method, SignalType signal, long start) {
+        timers.computeIfAbsent(method, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(signal, key -> Timer.builder(METRIC_NAME)
+                        .tag("repository", repository)
+                        .tag("method", method.getName())
+                        .tag("signal", key.name())
+                        .register(registry))
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,142 @@
+package edu.jcourse.qa.config;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Where the time of one request went, carried in the Reactor context from the web filter down to
+ * the connection factory, so the tally follows the request across threads.
+ * <p>
+ * Stages of concurrent operations overlap, so a stage sums the durations of its operations rather than
+ * measuring wall time. Statements are only recorded for sampled requests.
+ */
+public final class RequestTiming {
+    private static final String KEY = RequestTiming.class.getName();
+
+    public enum Stage {
+        /**
+         * Waiting for a pooled connection.
+         */
+        POOL("pool"),
+        /**
+         * Repository calls from subscription to the last row.
+         */
+        DB("db"),
+        /**
+         * Encoding a single-value response body.
+         */
+        SER("ser");
+
+        private final String metricName;
+
+        Stage(String metricName) {
+            this.metricName = metricName;
+        }
+    }
+
+    private final long startNanos = System.nanoTime();
+    private final AtomicLongArray stageNanos = new AtomicLongArray(Stage.values().length);
+    private final AtomicLongArray stageCounts = new AtomicLongArray(Stage.values().length);
+    private final AtomicLong rows = new AtomicLong();
+    private final int maxStatements;
+    private final List<String> statements;
+    private final AtomicInteger droppedStatements = new AtomicInteger();
+
+    /**
+     * @param maxStatements statements to keep, {@code 0} when the request is not sampled
+     */
+    public RequestTiming(int maxStatements) {
+        this.maxStatements = maxStatements;
+        this.statements = maxStatements > 0 ? new ArrayList<>() : List.of();
+    }
+
+    public static Context put(Context context, RequestTiming timing) {
+        return context.put(KEY, timing);
+    }
+
+    /**
+     * @return timing of the current request, {@code null} outside of one
+     */
+    public static RequestTiming from(ContextView context) {
+        return context.getOrDefault(KEY, null);
+    }
+
+    public void record(Stage stage, long nanos) {
+        stageNanos.addAndGet(stage.ordinal(), nanos);
+        stageCounts.incrementAndGet(stage.ordinal());
+    }
+
+    public void addRows(long count) {
+        rows.addAndGet(count);
+    }
+
+    public boolean isSampled() {
+        return maxStatements > 0;
+    }
+
+    /**
+     * @param statement SQL with the shapes of its bind parameters and duration, kept up to {@code maxStatements}
+     */
+    public void addStatement(String statement) {
+        synchronized (statements) {
+            if (statements.size() < maxStatements) {
+                statements.add(statement);
+                return;
+            }
+        }
+        droppedStatements.incrementAndGet();
+    }
+
+    public List<String> getStatements() {
+        synchronized (statements) {
+            return List.copyOf(statements);
+        }
+    }
+
+    public int getDroppedStatements() {
+        return droppedStatements.get();
+    }
+
+    public long getElapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    /**
+     * @return {@code Server-Timing} header value with the stages seen so far and the total elapsed time
+     */
+    public String toServerTiming() {
+        StringBuilder header = new StringBuilder(128);
+        for (Stage stage : Stage.values()) {
+            long count = stageCounts.get(stage.ordinal());
+            if (count == 0) {
+                continue;
+            }
+            header.append(stage.metricName).append(";dur=");
+            appendMillis(header, stageNanos.get(stage.ordinal()));
+            if (stage == Stage.DB) {
+                header.append(";desc=\"").append(count).append(count == 1 ? " query, " : " queries, ")
+                        .append(rows.get()).append(" rows\"");
+            }
+            header.append(", ");
+        }
+        header.append("total;dur=");
+        appendMillis(header, getElapsedNanos());
+        return header.toString();
+    }
+
+    private static void appendMillis(StringBuilder builder, long nanos) {
+        long hundredths = (nanos + 5_000) / 10_000;
+        long fraction = hundredths % 100;
+        builder.append(hundredths / 100).append('.');
+        if (fraction < 10) {
+            builder.append('0');
+        }
+        builder.append(fraction);
+    }
+}
@@ -0,0 +1,67 @@
+package edu.jcourse.qa.config;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.util.ReflectionUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Adds reactive repository calls made within a request to its {@link RequestTiming}: one query per call,
+ * the elements it returned as rows and the time from subscription to the terminal signal. A {@link Modifying}
+ * call returns the number of rows it updated, which is added as is.
+ */
+class RequestTimingInterceptor implements MethodInterceptor {
+    private final Class<?> repositoryInterface;
+    private final Map<Method, Boolean> modifying = new ConcurrentHashMap<>();
+
+    RequestTimingInterceptor(Class<?> repositoryInterface) {
+        this.repositoryInterface = repositoryInterface;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Object result = invocation.proceed();
+        boolean rowsUpdated = isModifying(invocation.getMethod());
+        if (result instanceof Mono<?> mono) {
+            return Mono.deferContextual(context -> {
+                RequestTiming timing = RequestTiming.from(context);
+                if (timing == null) {
+                    return mono;
+                }
+                long start = System.nanoTime();
+                return mono.doOnNext(value -> timing.addRows(rowsUpdated && value instanceof Number count ?
+                                count.longValue() :
+                                1))
+                        .doFinally(signal -> timing.record(RequestTiming.Stage.DB, System.nanoTime() - start));
+            });
+        }
+        if (result instanceof Flux<?> flux) {
+            return Flux.deferContextual(context -> {
+                RequestTiming timing = RequestTiming.from(context);
+                if (timing == null) {
+                    return flux;
+                }
+                long start = System.nanoTime();
+                return flux.doOnNext(value -> timing.addRows(1))
+                        .doFinally(signal -> timing.record(RequestTiming.Stage.DB, System.nanoTime() - start));
+            });
+        }
+        return result;
+    }
+
+    /**
+     * The invoked method may be declared by a super-interface, so the annotation is looked up on the repository.
+     */
+    private boolean isModifying(Method method) {
+        return modifying.computeIfAbsent(method, key -> {
+            Method declared = ReflectionUtils.findMethod(repositoryInterface, key.getName(), key.getParameterTypes());
+            return declared != null && declared.isAnnotationPresent(Modifying.class);
+        });
+    }
+}
@@ -0,0 +1,197 @@
+package edu.jcourse.qa.config;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.ContextClosedEvent;
+import reactor.core.Scannable;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Publishes {@code reactor.scheduler.*} executor metrics for every Reactor scheduler.
+ * <p>
+ * Registered through {@code META-INF/spring.factories} so the decorator is in place before any bean can create
+ * a scheduler. Meters are bound to {@link Metrics#globalRegistry}, which Spring Boot links to its registries.
+ * Each executor gets a slot-based name ({@code <scheduler>-<slot>}) that is released, together with its meters,
+ * when the executor shuts down, so evicted bounded-elastic workers do not leave meters behind.
+ */
+public class SchedulerMetrics implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+    private static final String SCHEDULER_METRIC_PREFIX = "reactor.scheduler";
+    private static final String SCHEDULER_DECORATOR_KEY = SchedulerMetrics.class.getName();
+
+    private final MeterRegistry meterRegistry = Metrics.globalRegistry;
+    private final Map<String, BitSet> slots = new HashMap<>();
+
+    @Override
+    public void initialize(ConfigurableApplicationContext context) {
+        Schedulers.addExecutorServiceDecorator(SCHEDULER_DECORATOR_KEY, this::monitor);
+        context.addApplicationListener(event -> {
+            if (event instanceof ContextClosedEvent closed && closed.getApplicationContext() == context) {
+                Schedulers.removeExecutorServiceDecorator(SCHEDULER_DECORATOR_KEY);
+            }
+        });
+    }
+
+    private ScheduledExecutorService monitor(Scheduler scheduler, ScheduledExecutorService executorService) {
+        String schedulerName = Scannable.from(scheduler).name();
+        int slot = acquire(schedulerName);
+        String executorName = schedulerName + "-" + slot;
+        ScheduledExecutorService monitored = ExecutorServiceMetrics.monitor(meterRegistry, executorService,
+                executorName, SCHEDULER_METRIC_PREFIX, Tags.of("scheduler", schedulerName));
+        return new MonitoredExecutor(monitored, () -> {
+            removeMeters(executorName);
+            release(schedulerName, slot);
+        });
+    }
+
+    private synchronized int acquire(String schedulerName) {
+        BitSet used = slots.computeIfAbsent(schedulerName, name -> new BitSet());
+        int slot = used.nextClearBit(0);
+        used.set(slot);
+        return slot;
+    }
+
+    private synchronized void release(String schedulerName, int slot) {
+        BitSet used = slots.get(schedulerName);
+        if (used != null) {
+            used.clear(slot);
+        }
+    }
+
+    private void removeMeters(String executorName) {
+        for (Meter meter : List.copyOf(meterRegistry.getMeters())) {
+            Meter.Id id = meter.getId();
+            if (id.getName().startsWith(SCHEDULER_METRIC_PREFIX) && executorName.equals(id.getTag("name"))) {
+                meterRegistry.remove(meter);
+            }
+        }
+    }
+
+    private static final class MonitoredExecutor implements ScheduledExecutorService {
+        private final ScheduledExecutorService delegate;
+        private final Runnable onShutdown;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private MonitoredExecutor(ScheduledExecutorService delegate, Runnable onShutdown) {
+            this.delegate = delegate;
+            this.onShutdown = onShutdown;
+        }
+
+        @Override
+        public void shutdown() {
+            delegate.shutdown();
+            release();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            List<Runnable> pending = delegate.shutdownNow();
+            release();
+            return pending;
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                onShutdown.run();
+            }
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return delegate.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return delegate.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return delegate.awaitTermination(timeout, unit);
+        }
+
+        @Override
+        public <T> Future<T> submit(Callable<T> task) {
+            return delegate.submit(task);
+        }
+
+        @Override
+        public <T> Future<T> submit(Runnable task, T result) {
+            return delegate.submit(task, result);
+        }
+
+        @Override
+        public Future<?> submit(Runnable task) {
+            return delegate.submit(task);
+        }
+
+        @Override
+        public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks) throws InterruptedException {
+            return delegate.invokeAll(tasks);
+        }
+
+        @Override
+        public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+                throws InterruptedException {
+            return delegate.invokeAll(tasks, timeout, unit);
+        }
+
+        @Override
+        public <T> T invokeAny(Collection<? extends Callable<T>> tasks)
+                throws InterruptedException, ExecutionException {
+            return delegate.invokeAny(tasks);
+        }
+
+        @Override
+        public <T> T invokeAny(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+                throws InterruptedException, ExecutionException, TimeoutException {
+            return delegate.invokeAny(tasks, timeout, unit);
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            delegate.execute(command);
+        }
+
+        @Override
+        public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+            return delegate.schedule(command, delay, unit);
+        }
+
+        @Override
+        public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+            return delegate.schedule(callable, delay, unit);
+        }
+
+        @Override
+        public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+            return delegate.scheduleAtFixedRate(command, initialDelay, period, unit);
+        }
+
+        @Override
+        public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay,
+                                                         TimeUnit unit) {
+            return delegate.scheduleWithFixedDelay(command, initialDelay, delay, unit);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package edu.jcourse.qa.config;
+
+import edu.jcourse.qa.rest.filter.ServerTimingWebFilter;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * Per-request timing: repository calls and connection acquisition report to the {@link RequestTiming}
+ * that {@link ServerTimingWebFilter} puts into the Reactor context.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "app.server-timing", name = "enabled", havingValue = "true")
+public class ServerTimingConfig {
+
+    @Bean
+    static RequestTimingBeanPostProcessor requestTimingBeanPostProcessor() {
+        return new RequestTimingBeanPostProcessor();
+    }
+
+    @Bean
+    public ServerTimingWebFilter serverTimingWebFilter(ServerTimingProperties properties) {
+        return new ServerTimingWebFilter(properties);
+    }
+
+    /**
+     * Ordered, so it runs before the replica routing post-processor: the routing factory then wraps
+     * the timed primary and stays the outermost {@link ConnectionFactory}.
+     */
+    static class RequestTimingBeanPostProcessor implements BeanPostProcessor, Ordered {
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+
+        @Override
+        public Object postProcessBeforeInitialization(Object bean, String beanName) {
+            if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                        (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(
+                                new RequestTimingInterceptor(repositoryInformation.getRepositoryInterface()))));
+            }
+            return bean;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof ConnectionFactory connectionFactory
+                && !(bean instanceof TimedConnectionFactory)
+                && !(bean instanceof ReplicaRoutingConnectionFactory)) {
+                return new TimedConnectionFactory(connectionFactory);
+            }
+            return bean;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package edu.jcourse.qa.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param enabled       whether requests are timed and answered with a {@code Server-Timing} header
+ * @param sampleRate    share of requests recording their statements, {@code 0} turns recording off
+ * @param slowThreshold sampled requests taking longer are logged with their statements
+ * @param maxStatements statements kept per sampled request
+ */
+@ConfigurationProperties(prefix = "app.server-timing")
+public record ServerTimingProperties(
+        @DefaultValue("false")
+        boolean enabled,
+        @DefaultValue("0.01")
+        double sampleRate,
+        @DefaultValue("500ms")
+        Duration slowThreshold,
+        @DefaultValue("50")
+        int maxStatements) {
+}
@@ -0,0 +1,176 @@
+package edu.jcourse.qa.config;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.Parameter;
+import io.r2dbc.spi.Statement;
+import io.r2dbc.spi.Wrapped;
+import org.reactivestreams.Publisher;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times connection acquisition for the {@link RequestTiming} in the Reactor context.
+ * <p>
+ * Connections of sampled requests are handed out behind a proxy recording every statement with its SQL,
+ * the type and size of each bind parameter (never the value) and its duration. Requests that are not
+ * sampled get the pooled connection itself.
+ */
+public class TimedConnectionFactory implements ConnectionFactory, Wrapped<ConnectionFactory>, Disposable {
+    private final ConnectionFactory delegate;
+
+    public TimedConnectionFactory(ConnectionFactory delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Publisher<? extends Connection> create() {
+        return Mono.deferContextual(context -> {
+            RequestTiming timing = RequestTiming.from(context);
+            if (timing == null) {
+                return Mono.<Connection>from(delegate.create());
+            }
+            long start = System.nanoTime();
+            return Mono.<Connection>from(delegate.create())
+                    .doOnNext(connection -> timing.record(RequestTiming.Stage.POOL, System.nanoTime() - start))
+                    .map(connection -> timing.isSampled() ? recording(connection, timing) : connection);
+        });
+    }
+
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return delegate.getMetadata();
+    }
+
+    @Override
+    public ConnectionFactory unwrap() {
+        return delegate;
+    }
+
+    @Override
+    public void dispose() {
+        if (delegate instanceof Disposable disposable) {
+            disposable.dispose();
+        }
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return delegate instanceof Disposable disposable && disposable.isDisposed();
+    }
+
+    static Connection recording(Connection connection, RequestTiming timing) {
+        return (Connection) Proxy.newProxyInstance(TimedConnectionFactory.class.getClassLoader(),
+                new Class<?>[]{Connection.class, Wrapped.class}, new ConnectionHandler(connection, timing));
+    }
+
+    /**
+     * @return type of a bind value with its length for strings and arrays, e.g. {@code Long[20]}
+     */
+    static String shape(Object value) {
+        if (value instanceof Parameter parameter) {
+            return parameter.getValue() == null ? "null" : shape(parameter.getValue());
+        }
+        if (value == null) {
+            return "null";
+        }
+        if (value.getClass().isArray()) {
+            return value.getClass().getComponentType().getSimpleName() + "[" + Array.getLength(value) + "]";
+        }
+        if (value instanceof CharSequence chars) {
+            return "String(" + chars.length() + ")";
+        }
+        return value.getClass().getSimpleName();
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private record ConnectionHandler(Connection target, RequestTiming timing) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "unwrap":
+                    return target;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "createStatement":
+                    Statement statement = (Statement) TimedConnectionFactory.invoke(target, method, args);
+                    return Proxy.newProxyInstance(TimedConnectionFactory.class.getClassLoader(),
+                            new Class<?>[]{Statement.class}, new StatementHandler(statement, (String) args[0], timing));
+                default:
+                    return TimedConnectionFactory.invoke(target, method, args);
+            }
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final String sql;
+        private final RequestTiming timing;
+        private final List<String> binds = new ArrayList<>();
+
+        private StatementHandler(Statement target, String sql, RequestTiming timing) {
+            this.target = target;
+            this.sql = sql;
+            this.timing = timing;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "bind":
+                    binds.add(marker(args[0]) + "=" + shape(args[1]));
+                    break;
+                case "bindNull":
+                    binds.add(marker(args[0]) + "=null:" + ((Class<?>) args[1]).getSimpleName());
+                    break;
+                case "add":
+                    binds.add("|");
+                    break;
+                case "execute":
+                    Publisher<?> results = (Publisher<?>) TimedConnectionFactory.invoke(target, method, args);
+                    String bindShapes = String.join(", ", binds);
+                    return Flux.defer(() -> {
+                        long start = System.nanoTime();
+                        return Flux.from(results)
+                                .doFinally(signal -> timing.addStatement("{sql=\"%s\", binds=[%s], ms=%d}".formatted(
+                                        sql.replaceAll("\\s+", " ").strip(), bindShapes,
+                                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))));
+                    });
+                default:
+                    break;
+            }
+            Object result = TimedConnectionFactory.invoke(target, method, args);
+            // keep the fluent calls on the proxy
+            return result == target ? proxy : result;
+        }
+
+        private static String marker(Object indexOrName) {
+            return indexOrName instanceof Integer index ? "$" + (index + 1) : String.valueOf(indexOrName);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package edu.jcourse.qa.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchResultDto(
+        Long id,
+        String email,
+        Outcome outcome) {
+
+    public enum Outcome {
+        CREATED, UPDATED, DELETED, CONFLICT, NOT_FOUND, INVALID, FAILED
+    }
+}
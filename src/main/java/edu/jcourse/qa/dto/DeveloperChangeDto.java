@@ -0,0 +1,19 @@
+package edu.jcourse.qa.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import edu.jcourse.qa.entity.ChangeType;
+import lombok.Builder;
+
+import java.time.OffsetDateTime;
+
+@Builder
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record DeveloperChangeDto(
+        Long offset,
+        Long developerId,
+        ChangeType type,
+        OffsetDateTime changedAt) {
+}
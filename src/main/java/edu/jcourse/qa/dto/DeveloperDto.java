@@ -18,5 +18,10 @@ public record DeveloperDto(
         @JsonProperty("last_name")
         String lastName,
         String speciality,
-        Status status) {
+        Status status,
+        Long version) {
+
+    public DeveloperDto withVersion(Long version) {
+        return new DeveloperDto(id, email, firstName, lastName, speciality, status, version);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package edu.jcourse.qa.dto;
+
+/**
+ * Developer found by a search query together with its relevance, used to build the next page cursor.
+ */
+public record DeveloperMatchDto(
+        DeveloperDto developer,
+        float score) {
+}
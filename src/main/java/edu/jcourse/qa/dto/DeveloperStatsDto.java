@@ -0,0 +1,24 @@
+package edu.jcourse.qa.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import edu.jcourse.qa.entity.Status;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @param headcount    developers per status
+ * @param specialities developers per status of every speciality, ordered by speciality
+ */
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public record DeveloperStatsDto(
+        Map<Status, Long> headcount,
+        List<SpecialityStats> specialities) {
+
+    @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+    public record SpecialityStats(
+            String speciality,
+            Map<Status, Long> headcount) {
+    }
+}
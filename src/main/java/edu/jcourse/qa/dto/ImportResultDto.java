@@ -0,0 +1,17 @@
+package edu.jcourse.qa.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import edu.jcourse.qa.dto.BatchResultDto.Outcome;
+
+import java.util.Map;
+
+/**
+ * @param rows     number of rows read from the upload
+ * @param outcomes number of rows per outcome
+ */
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public record ImportResultDto(
+        long rows,
+        Map<Outcome, Long> outcomes) {
+}
@@ -0,0 +1,5 @@
+package edu.jcourse.qa.entity;
+
+public enum ChangeType {
+    CREATED, UPDATED, SOFT_DELETED, HARD_DELETED, ARCHIVED, RESTORED
+}
@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.relational.core.mapping.Table;
 
 @Data
@@ -20,4 +21,6 @@ public class Developer {
     private String lastName;
     private String speciality;
     private Status status;
+    @Version
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package edu.jcourse.qa.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.OffsetDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "developer_change")
+public class DeveloperChange {
+    @Id
+    private Long id;
+    private Long developerId;
+    private ChangeType type;
+    private OffsetDateTime changedAt;
+}
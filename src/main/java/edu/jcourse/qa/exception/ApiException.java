@@ -3,13 +3,19 @@ package edu.jcourse.qa.exception;
 import lombok.Getter;
 import org.springframework.http.HttpStatus;
 
+/**
+ * Expected domain error rendered as a response with the given status.
+ * <p>
+ * It does not capture a stack trace: the message and status fully describe the failure,
+ * and filling the trace dominates the cost of 404-heavy traffic.
+ */
 @Getter
 public class ApiException extends RuntimeException {
 
     private final HttpStatus status;
 
     public ApiException(HttpStatus status, String message) {
-        super(message);
+        super(message, null, false, false);
         this.status = status;
     }
-}
\ No newline at end of file
+}
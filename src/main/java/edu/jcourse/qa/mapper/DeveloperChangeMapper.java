@@ -0,0 +1,13 @@
+package edu.jcourse.qa.mapper;
+
+import edu.jcourse.qa.dto.DeveloperChangeDto;
+import edu.jcourse.qa.entity.DeveloperChange;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring")
+public interface DeveloperChangeMapper {
+
+    @Mapping(target = "offset", source = "id")
+    DeveloperChangeDto toDto(DeveloperChange developerChange);
+}
@@ -0,0 +1,126 @@
+package edu.jcourse.qa.repository;
+
+import edu.jcourse.qa.entity.Developer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.r2dbc.convert.R2dbcConverter;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Moves soft-deleted developers between {@code developer} and {@code developer_archive}, so the hot table
+ * and its unique email index only hold the developers that are still read.
+ * <p>
+ * Every move is one statement in a transaction that tells the change log trigger to report it as
+ * {@code ARCHIVED} or {@code RESTORED}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DeveloperArchiveRepository {
+    private static final String CHANGE_TYPE_SQL = "SELECT set_config('app.developer_change_type', :type, true)";
+    public static final String ARCHIVE_SQL = """
+            WITH moved AS (
+                DELETE FROM developer
+                WHERE id IN (SELECT id
+                             FROM developer
+                             WHERE status = 'DELETED' AND deleted_at < :before
+                             ORDER BY deleted_at
+                             LIMIT :limit
+                             FOR UPDATE SKIP LOCKED)
+                RETURNING *)
+            INSERT INTO developer_archive (id, email, first_name, last_name, speciality, version, deleted_at)
+            SELECT id, email, first_name, last_name, speciality, version, deleted_at
+            FROM moved""";
+    private static final String RESTORE_SQL = """
+            WITH restored AS (
+                INSERT INTO developer (id, email, first_name, last_name, speciality, status, version)
+                SELECT id, email, first_name, last_name, speciality, 'ACTIVE', version + 1
+                FROM developer_archive
+                WHERE id = :id
+                ON CONFLICT DO NOTHING
+                RETURNING *),
+                 removed AS (
+                     DELETE FROM developer_archive
+                     WHERE id IN (SELECT id FROM restored))
+            SELECT *
+            FROM restored""";
+
+    private final DatabaseClient databaseClient;
+    private final R2dbcConverter converter;
+    private final TransactionalOperator transactionalOperator;
+
+    /**
+     * Archives at most {@code limit} developers deleted before {@code before}, oldest first. Rows locked by
+     * a concurrent archiver are skipped, so several instances split the work instead of waiting on each other.
+     *
+     * @return number of archived developers
+     */
+    public Mono<Long> archiveDeletedBefore(OffsetDateTime before, int limit) {
+        return changeType("ARCHIVED")
+                .then(databaseClient.sql(ARCHIVE_SQL)
+                        .bind("before", before)
+                        .bind("limit", limit)
+                        .fetch()
+                        .rowsUpdated())
+                .as(transactionalOperator::transactional);
+    }
+
+    /**
+     * Moves the archived developer back to the hot table as {@code ACTIVE}.
+     *
+     * @return restored row, or empty when the id is not archived or its email is taken again
+     */
+    public Mono<Developer> restore(Long id) {
+        return changeType("RESTORED")
+                .then(databaseClient.sql(RESTORE_SQL)
+                        .bind("id", id)
+                        .map((row, metadata) -> converter.read(Developer.class, row, metadata))
+                        .one())
+                .as(transactionalOperator::transactional);
+    }
+
+    public Mono<Developer> findById(Long id) {
+        return databaseClient.sql("SELECT * FROM developer_archive WHERE id = :id")
+                .bind("id", id)
+                .map((row, metadata) -> converter.read(Developer.class, row, metadata))
+                .one();
+    }
+
+    public Flux<Developer> findAllByIds(Long[] ids) {
+        return databaseClient.sql("SELECT * FROM developer_archive WHERE id = ANY(:ids)")
+                .bind("ids", ids)
+                .map((row, metadata) -> converter.read(Developer.class, row, metadata))
+                .all();
+    }
+
+    public Flux<Developer> findAllAfter(long afterId, int limit) {
+        return databaseClient.sql("SELECT * FROM developer_archive WHERE id > :afterId ORDER BY id LIMIT :limit")
+                .bind("afterId", afterId)
+                .bind("limit", limit)
+                .map((row, metadata) -> converter.read(Developer.class, row, metadata))
+                .all();
+    }
+
+    public Flux<Developer> streamAll() {
+        return databaseClient.sql("SELECT * FROM developer_archive ORDER BY id")
+                .map((row, metadata) -> converter.read(Developer.class, row, metadata))
+                .all();
+    }
+
+    public Mono<Boolean> existsById(Long id) {
+        return databaseClient.sql("SELECT EXISTS (SELECT 1 FROM developer_archive WHERE id = :id)")
+                .bind("id", id)
+                .map(row -> row.get(0, Boolean.class))
+                .one();
+    }
+
+    private Mono<Void> changeType(String type) {
+        return databaseClient.sql(CHANGE_TYPE_SQL)
+                .bind("type", type)
+                .then();
+    }
+}
@@ -0,0 +1,22 @@
+package edu.jcourse.qa.repository;
+
+import edu.jcourse.qa.entity.DeveloperChange;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+
+public interface DeveloperChangeRepository extends R2dbcRepository<DeveloperChange, Long> {
+
+    Flux<DeveloperChange> findAllByIdGreaterThanOrderById(Long id);
+
+    @Query("SELECT COALESCE(MAX(id), 0) FROM developer_change")
+    Mono<Long> findLastOffset();
+
+    @Modifying
+    @Query("DELETE FROM developer_change WHERE changed_at < :before")
+    Mono<Integer> deleteAllChangedBefore(OffsetDateTime before);
+}
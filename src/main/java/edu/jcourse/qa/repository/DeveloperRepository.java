@@ -1,15 +1,59 @@
 package edu.jcourse.qa.repository;
 
 import edu.jcourse.qa.entity.Developer;
+import org.springframework.data.r2dbc.repository.Modifying;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-public interface DeveloperRepository extends R2dbcRepository<Developer, Long> {
+public interface DeveloperRepository extends R2dbcRepository<Developer, Long>, DeveloperRepositoryCustom, DeveloperStore {
 
     Mono<Developer> findByEmail(String email);
 
-    @Query("SELECT d FROM Developer d WHERE d.status = 'ACTIVE' AND d.speciality = :speciality")
+    @Query("""
+            SELECT * FROM developer
+            WHERE status = 'ACTIVE' AND lower(speciality) = lower(:speciality)
+            ORDER BY id""")
     Flux<Developer> findAllActiveBySpeciality(String speciality);
-}
\ No newline at end of file
+
+    @Query(DeveloperSql.FIND_ACTIVE_BY_SPECIALITY_PAGE)
+    Flux<Developer> findAllActiveBySpeciality(String speciality, long afterId, int limit);
+
+    @Query("SELECT EXISTS (SELECT 1 FROM developer WHERE id = :id AND status <> 'DELETED')")
+    Mono<Boolean> existsActiveById(Long id);
+
+    @Query("SELECT * FROM developer WHERE id = ANY(:ids)")
+    Flux<Developer> findAllByIds(Long[] ids);
+
+    @Query("SELECT * FROM developer WHERE id > :afterId ORDER BY id LIMIT :limit")
+    Flux<Developer> findAllAfter(long afterId, int limit);
+
+    @Query("SELECT * FROM developer WHERE status = 'ACTIVE' AND id > :afterId ORDER BY id LIMIT :limit")
+    Flux<Developer> findAllActiveAfter(long afterId, int limit);
+
+    @Modifying
+    @Query("UPDATE developer SET status = 'DELETED', version = version + 1 WHERE id = :id AND status = 'ACTIVE'")
+    Mono<Integer> softDeleteById(Long id);
+
+    @Modifying
+    @Query("DELETE FROM developer WHERE id = :id")
+    Mono<Integer> hardDeleteById(Long id);
+
+    @Modifying
+    @Query("UPDATE developer SET status = 'DELETED', version = version + 1 WHERE id = :id AND version = :version AND status = 'ACTIVE'")
+    Mono<Integer> softDeleteByIdAndVersion(Long id, long version);
+
+    @Modifying
+    @Query("DELETE FROM developer WHERE id = :id AND version = :version")
+    Mono<Integer> hardDeleteByIdAndVersion(Long id, long version);
+
+    @Query("UPDATE developer SET status = 'DELETED', version = version + 1 WHERE id = ANY(:ids) AND status = 'ACTIVE' RETURNING id")
+    Flux<Long> softDeleteAllById(Long[] ids);
+
+    @Query("DELETE FROM developer WHERE id = ANY(:ids) RETURNING id")
+    Flux<Long> hardDeleteAllById(Long[] ids);
+
+    @Query("UPDATE developer SET status = 'ACTIVE', version = version + 1 WHERE id = :id AND status = 'DELETED' RETURNING *")
+    Mono<Developer> restoreById(Long id);
+}
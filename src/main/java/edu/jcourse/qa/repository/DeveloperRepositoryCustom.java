@@ -0,0 +1,48 @@
+package edu.jcourse.qa.repository;
+
+import edu.jcourse.qa.entity.Developer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+
+import java.util.List;
+
+public interface DeveloperRepositoryCustom {
+
+    Flux<Developer> streamAll();
+
+    Flux<Developer> streamAllActive();
+
+    /**
+     * Inserts all developers in one batched statement, skipping rows whose email already exists.
+     *
+     * @return inserted rows
+     */
+    Flux<Developer> insertAll(List<Developer> developers);
+
+    /**
+     * Updates all developers by id in one batched statement, keeping columns whose new value is {@code null}.
+     * Soft-deleted rows are skipped, as are rows whose version differs from a non-null {@code version}.
+     *
+     * @return updated rows
+     */
+    Flux<Developer> updateAll(List<Developer> developers);
+
+    /**
+     * Writes only the non-null columns of {@code changes} in one statement.
+     * When {@code changes} carries a version, the row is updated only if it still has that version.
+     *
+     * @return updated row, or empty when no row matches the id and version
+     */
+    Mono<Developer> patch(Long id, Developer changes);
+
+    /**
+     * Finds active developers whose name or email is word-similar to {@code query} above the
+     * {@code pg_trgm.word_similarity_threshold}, most similar first.
+     * Results continue after the given score and id, so pages are stable while rows change.
+     *
+     * @param query lower-case search text
+     * @return at most {@code limit} developers with their score, ordered by score descending, then id
+     */
+    Flux<Tuple2<Developer, Float>> search(String query, float afterScore, long afterId, int limit);
+}
@@ -0,0 +1,104 @@
+package edu.jcourse.qa.repository;
+
+import edu.jcourse.qa.entity.Developer;
+import edu.jcourse.qa.entity.Status;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.r2dbc.convert.R2dbcConverter;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+@RequiredArgsConstructor
+public class DeveloperRepositoryCustomImpl implements DeveloperRepositoryCustom {
+
+    private final DatabaseClient databaseClient;
+    private final R2dbcConverter converter;
+    @Value("${app.repository.fetch-size:256}")
+    private final int fetchSize;
+
+    @Override
+    public Flux<Developer> streamAll() {
+        return stream("SELECT * FROM developer ORDER BY id");
+    }
+
+    @Override
+    public Flux<Developer> streamAllActive() {
+        return stream("SELECT * FROM developer WHERE status = 'ACTIVE' ORDER BY id");
+    }
+
+    @Override
+    public Flux<Developer> insertAll(List<Developer> developers) {
+        if (developers.isEmpty()) {
+            return Flux.empty();
+        }
+        return databaseClient.sql(DeveloperSql.INSERT_ALL)
+                .bind("emails", DeveloperSql.column(developers, Developer::getEmail))
+                .bind("firstNames", DeveloperSql.column(developers, Developer::getFirstName))
+                .bind("lastNames", DeveloperSql.column(developers, Developer::getLastName))
+                .bind("specialities", DeveloperSql.column(developers, Developer::getSpeciality))
+                .bind("statuses", DeveloperSql.column(developers,
+                        developer -> Objects.requireNonNullElse(developer.getStatus(), Status.ACTIVE).name()))
+                .map((row, metadata) -> converter.read(Developer.class, row, metadata))
+                .all();
+    }
+
+    @Override
+    public Flux<Developer> updateAll(List<Developer> developers) {
+        if (developers.isEmpty()) {
+            return Flux.empty();
+        }
+        return databaseClient.sql(DeveloperSql.UPDATE_ALL)
+                .bind("ids", developers.stream().map(Developer::getId).toArray(Long[]::new))
+                .bind("emails", DeveloperSql.column(developers, Developer::getEmail))
+                .bind("firstNames", DeveloperSql.column(developers, Developer::getFirstName))
+                .bind("lastNames", DeveloperSql.column(developers, Developer::getLastName))
+                .bind("specialities", DeveloperSql.column(developers, Developer::getSpeciality))
+                .bind("statuses", DeveloperSql.column(developers,
+                        developer -> developer.getStatus() == null ? null : developer.getStatus().name()))
+                .bind("versions", DeveloperSql.longColumn(developers, Developer::getVersion))
+                .map((row, metadata) -> converter.read(Developer.class, row, metadata))
+                .all();
+    }
+
+    @Override
+    public Mono<Developer> patch(Long id, Developer changes) {
+        Map<String, Object> columns = DeveloperSql.patchColumns(changes);
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(
+                        DeveloperSql.patch(columns, changes.getVersion() != null))
+                .bind("id", id);
+        for (Map.Entry<String, Object> column : columns.entrySet()) {
+            spec = spec.bind(column.getKey(), column.getValue());
+        }
+        if (changes.getVersion() != null) {
+            spec = spec.bind("version", changes.getVersion());
+        }
+        return spec.map((row, metadata) -> converter.read(Developer.class, row, metadata))
+                .one();
+    }
+
+    @Override
+    public Flux<Tuple2<Developer, Float>> search(String query, float afterScore, long afterId, int limit) {
+        return databaseClient.sql(DeveloperSql.SEARCH)
+                .bind("query", query)
+                .bind("afterScore", afterScore)
+                .bind("afterId", afterId)
+                .bind("limit", limit)
+                .map((row, metadata) -> Tuples.of(converter.read(Developer.class, row, metadata),
+                        row.get("score", Float.class)))
+                .all();
+    }
+
+    private Flux<Developer> stream(String sql) {
+        return databaseClient.sql(sql)
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .map((row, metadata) -> converter.read(Developer.class, row, metadata))
+                .all();
+    }
+}
@@ -0,0 +1,113 @@
+package edu.jcourse.qa.repository;
+
+import edu.jcourse.qa.entity.Developer;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Statements shared by the R2DBC and JDBC developer repositories. Parameters are named, so
+ * {@code DatabaseClient} and {@code JdbcClient} bind them the same way. Public statements are also
+ * explained by the repository tests that check their indexes.
+ */
+public final class DeveloperSql {
+
+    static final String INSERT_ALL = """
+            INSERT INTO developer (email, first_name, last_name, speciality, status)
+            SELECT * FROM unnest(:emails::text[], :firstNames::text[], :lastNames::text[],
+                                 :specialities::text[], :statuses::text[])
+            ON CONFLICT (email) DO NOTHING
+            RETURNING *""";
+    static final String UPDATE_ALL = """
+            UPDATE developer d
+            SET email      = COALESCE(u.email, d.email),
+                first_name = COALESCE(u.first_name, d.first_name),
+                last_name  = COALESCE(u.last_name, d.last_name),
+                speciality = COALESCE(u.speciality, d.speciality),
+                status     = COALESCE(u.status, d.status),
+                version    = d.version + 1
+            FROM unnest(:ids::bigint[], :emails::text[], :firstNames::text[], :lastNames::text[],
+                        :specialities::text[], :statuses::text[], :versions::bigint[])
+                     AS u (id, email, first_name, last_name, speciality, status, version)
+            WHERE d.id = u.id
+              AND d.status <> 'DELETED'
+              AND (u.version IS NULL OR d.version = u.version)
+            RETURNING d.*""";
+    public static final String FIND_ACTIVE_BY_SPECIALITY_PAGE = """
+            SELECT * FROM developer
+            WHERE status = 'ACTIVE' AND lower(speciality) = lower(:speciality) AND id > :afterId
+            ORDER BY id
+            LIMIT :limit""";
+    public static final String SEARCH = """
+            SELECT d.*, ranked.score
+            FROM (SELECT id, score
+                  FROM (SELECT id,
+                               word_similarity(:query, lower(first_name || ' ' || last_name || ' ' || email)) AS score
+                        FROM developer
+                        WHERE status = 'ACTIVE'
+                          AND :query <% lower(first_name || ' ' || last_name || ' ' || email)) matches
+                  WHERE score < :afterScore OR (score = :afterScore AND id > :afterId)
+                  ORDER BY score DESC, id
+                  LIMIT :limit) ranked
+                     JOIN developer d ON d.id = ranked.id
+            ORDER BY ranked.score DESC, ranked.id""";
+
+    private DeveloperSql() {
+    }
+
+    /**
+     * @return non-null columns of {@code changes}, keyed by column name, which is also the parameter name
+     */
+    static Map<String, Object> patchColumns(Developer changes) {
+        Map<String, Object> columns = new LinkedHashMap<>();
+        putIfNotNull(columns, "email", changes.getEmail());
+        putIfNotNull(columns, "first_name", changes.getFirstName());
+        putIfNotNull(columns, "last_name", changes.getLastName());
+        putIfNotNull(columns, "speciality", changes.getSpeciality());
+        putIfNotNull(columns, "status", changes.getStatus() == null ? null : changes.getStatus().name());
+        return columns;
+    }
+
+    /**
+     * Updates {@code columns} of the row with {@code :id}, or only reads it when there is nothing to change.
+     * A soft-deleted row is never matched. A versioned patch also requires {@code :version}.
+     */
+    static String patch(Map<String, Object> columns, boolean versioned) {
+        StringBuilder sql = new StringBuilder();
+        if (columns.isEmpty()) {
+            sql.append("SELECT * FROM developer WHERE id = :id");
+        } else {
+            sql.append("UPDATE developer SET ");
+            columns.keySet().forEach(column -> sql.append(column).append(" = :").append(column).append(", "));
+            sql.append("version = version + 1 WHERE id = :id");
+        }
+        sql.append(" AND status <> 'DELETED'");
+        if (versioned) {
+            sql.append(" AND version = :version");
+        }
+        if (!columns.isEmpty()) {
+            sql.append(" RETURNING *");
+        }
+        return sql.toString();
+    }
+
+    static String[] column(List<Developer> developers, Function<Developer, String> getter) {
+        return developers.stream()
+                .map(getter)
+                .toArray(String[]::new);
+    }
+
+    static Long[] longColumn(List<Developer> developers, Function<Developer, Long> getter) {
+        return developers.stream()
+                .map(getter)
+                .toArray(Long[]::new);
+    }
+
+    private static void putIfNotNull(Map<String, Object> columns, String column, Object value) {
+        if (value != null) {
+            columns.put(column, value);
+        }
+    }
+}
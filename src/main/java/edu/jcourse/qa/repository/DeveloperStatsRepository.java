@@ -0,0 +1,35 @@
+package edu.jcourse.qa.repository;
+
+import edu.jcourse.qa.entity.Status;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+/**
+ * Reads the {@code developer_stats} rollup that the {@code developer} triggers keep in step with every write,
+ * so counting costs one row per speciality and status instead of a scan.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DeveloperStatsRepository {
+    private static final String FIND_ALL_SQL = """
+            SELECT speciality, status, headcount
+            FROM developer_stats
+            WHERE headcount > 0
+            ORDER BY speciality, status""";
+
+    private final DatabaseClient databaseClient;
+
+    public Flux<Headcount> findAll() {
+        return databaseClient.sql(FIND_ALL_SQL)
+                .map((row, metadata) -> new Headcount(
+                        row.get("speciality", String.class),
+                        Status.valueOf(row.get("status", String.class)),
+                        row.get("headcount", Long.class)))
+                .all();
+    }
+
+    public record Headcount(String speciality, Status status, long headcount) {
+    }
+}
@@ -0,0 +1,56 @@
+package edu.jcourse.qa.repository;
+
+import edu.jcourse.qa.entity.Developer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Developer persistence the application relies on, implemented by the R2DBC {@link DeveloperRepository}
+ * and by {@link JdbcDeveloperRepository}.
+ */
+public interface DeveloperStore extends DeveloperRepositoryCustom {
+
+    <S extends Developer> Mono<S> save(S developer);
+
+    Mono<Developer> findById(Long id);
+
+    Mono<Boolean> existsById(Long id);
+
+    /**
+     * @return whether a developer with the id exists and is not soft-deleted
+     */
+    Mono<Boolean> existsActiveById(Long id);
+
+    Mono<Void> deleteAll();
+
+    Mono<Developer> findByEmail(String email);
+
+    Flux<Developer> findAllActiveBySpeciality(String speciality);
+
+    Flux<Developer> findAllActiveBySpeciality(String speciality, long afterId, int limit);
+
+    Flux<Developer> findAllByIds(Long[] ids);
+
+    Flux<Developer> findAllAfter(long afterId, int limit);
+
+    Flux<Developer> findAllActiveAfter(long afterId, int limit);
+
+    Mono<Integer> softDeleteById(Long id);
+
+    Mono<Integer> hardDeleteById(Long id);
+
+    Mono<Integer> softDeleteByIdAndVersion(Long id, long version);
+
+    Mono<Integer> hardDeleteByIdAndVersion(Long id, long version);
+
+    Flux<Long> softDeleteAllById(Long[] ids);
+
+    Flux<Long> hardDeleteAllById(Long[] ids);
+
+    /**
+     * Brings a soft-deleted developer that is not archived yet back to {@code ACTIVE}.
+     *
+     * @return restored row, or empty when no deleted developer has the id
+     */
+    Mono<Developer> restoreById(Long id);
+}
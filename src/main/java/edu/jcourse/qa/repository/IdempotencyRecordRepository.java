@@ -0,0 +1,26 @@
+package edu.jcourse.qa.repository;
+
+import edu.jcourse.qa.entity.IdempotencyRecord;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+
+public interface IdempotencyRecordRepository extends R2dbcRepository<IdempotencyRecord, String> {
+
+    /**
+     * @return stored record, or empty when the key is already taken
+     */
+    @Query("""
+            INSERT INTO idempotency_record (idempotency_key, request_hash, response)
+            VALUES (:key, :requestHash, :response)
+            ON CONFLICT (idempotency_key) DO NOTHING
+            RETURNING *""")
+    Mono<IdempotencyRecord> insert(String key, String requestHash, String response);
+
+    @Modifying
+    @Query("DELETE FROM idempotency_record WHERE created_at < :before")
+    Mono<Integer> deleteAllCreatedBefore(OffsetDateTime before);
+}
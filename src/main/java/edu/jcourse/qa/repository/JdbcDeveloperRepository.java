@@ -0,0 +1,355 @@
+package edu.jcourse.qa.repository;
+
+import edu.jcourse.qa.entity.Developer;
+import edu.jcourse.qa.entity.Status;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * {@link DeveloperStore} on blocking JDBC. Every call runs on its own thread of {@code scheduler},
+ * meant to be backed by virtual threads, so callers keep the reactive contract while the connection pool
+ * bounds how many statements run at once.
+ */
+public class JdbcDeveloperRepository implements DeveloperStore {
+
+    private static final RowMapper<Developer> ROW_MAPPER = (resultSet, rowNum) -> Developer.builder()
+            .id(resultSet.getLong("id"))
+            .email(resultSet.getString("email"))
+            .firstName(resultSet.getString("first_name"))
+            .lastName(resultSet.getString("last_name"))
+            .speciality(resultSet.getString("speciality"))
+            .status(Status.valueOf(resultSet.getString("status")))
+            .version(resultSet.getLong("version"))
+            .build();
+
+    private static final String INSERT_SQL = """
+            INSERT INTO developer (email, first_name, last_name, speciality, status)
+            VALUES (:email, :firstName, :lastName, :speciality, :status)
+            RETURNING id, version""";
+    private static final String INSERT_WITH_ID_SQL = """
+            INSERT INTO developer (id, email, first_name, last_name, speciality, status)
+            VALUES (:id, :email, :firstName, :lastName, :speciality, :status)
+            RETURNING id, version""";
+    private static final String UPDATE_SQL = """
+            UPDATE developer
+            SET email = :email, first_name = :firstName, last_name = :lastName,
+                speciality = :speciality, status = :status, version = version + 1
+            WHERE id = :id AND version = :version
+            RETURNING version""";
+
+    private final JdbcClient jdbcClient;
+    private final Scheduler scheduler;
+    private final int fetchSize;
+
+    public JdbcDeveloperRepository(JdbcClient jdbcClient, Scheduler scheduler, int fetchSize) {
+        this.jdbcClient = jdbcClient;
+        this.scheduler = scheduler;
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public <S extends Developer> Mono<S> save(S developer) {
+        return mono(() -> developer.getId() == null || developer.getVersion() == null ?
+                insert(developer) :
+                update(developer));
+    }
+
+    @Override
+    public Mono<Developer> findById(Long id) {
+        return mono(() -> jdbcClient.sql("SELECT * FROM developer WHERE id = :id")
+                .param("id", id)
+                .query(ROW_MAPPER)
+                .optional()
+                .orElse(null));
+    }
+
+    @Override
+    public Mono<Boolean> existsById(Long id) {
+        return mono(() -> jdbcClient.sql("SELECT EXISTS (SELECT 1 FROM developer WHERE id = :id)")
+                .param("id", id)
+                .query(Boolean.class)
+                .single());
+    }
+
+    @Override
+    public Mono<Boolean> existsActiveById(Long id) {
+        return mono(() -> jdbcClient.sql(
+                        "SELECT EXISTS (SELECT 1 FROM developer WHERE id = :id AND status <> 'DELETED')")
+                .param("id", id)
+                .query(Boolean.class)
+                .single());
+    }
+
+    @Override
+    public Mono<Void> deleteAll() {
+        return mono(() -> jdbcClient.sql("DELETE FROM developer").update()).then();
+    }
+
+    @Override
+    public Mono<Developer> findByEmail(String email) {
+        return mono(() -> jdbcClient.sql("SELECT * FROM developer WHERE email = :email")
+                .param("email", email)
+                .query(ROW_MAPPER)
+                .optional()
+                .orElse(null));
+    }
+
+    @Override
+    public Flux<Developer> findAllActiveBySpeciality(String speciality) {
+        return flux(() -> jdbcClient.sql("""
+                        SELECT * FROM developer
+                        WHERE status = 'ACTIVE' AND lower(speciality) = lower(:speciality)
+                        ORDER BY id""")
+                .param("speciality", speciality)
+                .query(ROW_MAPPER)
+                .list());
+    }
+
+    @Override
+    public Flux<Developer> findAllActiveBySpeciality(String speciality, long afterId, int limit) {
+        return flux(() -> jdbcClient.sql(DeveloperSql.FIND_ACTIVE_BY_SPECIALITY_PAGE)
+                .param("speciality", speciality)
+                .param("afterId", afterId)
+                .param("limit", limit)
+                .query(ROW_MAPPER)
+                .list());
+    }
+
+    @Override
+    public Flux<Developer> findAllAfter(long afterId, int limit) {
+        return flux(() -> jdbcClient.sql("SELECT * FROM developer WHERE id > :afterId ORDER BY id LIMIT :limit")
+                .param("afterId", afterId)
+                .param("limit", limit)
+                .query(ROW_MAPPER)
+                .list());
+    }
+
+    @Override
+    public Flux<Developer> findAllActiveAfter(long afterId, int limit) {
+        return flux(() -> jdbcClient.sql("""
+                        SELECT * FROM developer
+                        WHERE status = 'ACTIVE' AND id > :afterId
+                        ORDER BY id
+                        LIMIT :limit""")
+                .param("afterId", afterId)
+                .param("limit", limit)
+                .query(ROW_MAPPER)
+                .list());
+    }
+
+    @Override
+    public Mono<Integer> softDeleteById(Long id) {
+        return mono(() -> jdbcClient.sql("""
+                        UPDATE developer SET status = 'DELETED', version = version + 1
+                        WHERE id = :id AND status = 'ACTIVE'""")
+                .param("id", id)
+                .update());
+    }
+
+    @Override
+    public Mono<Integer> hardDeleteById(Long id) {
+        return mono(() -> jdbcClient.sql("DELETE FROM developer WHERE id = :id")
+                .param("id", id)
+                .update());
+    }
+
+    @Override
+    public Mono<Integer> softDeleteByIdAndVersion(Long id, long version) {
+        return mono(() -> jdbcClient.sql("""
+                        UPDATE developer SET status = 'DELETED', version = version + 1
+                        WHERE id = :id AND version = :version AND status = 'ACTIVE'""")
+                .param("id", id)
+                .param("version", version)
+                .update());
+    }
+
+    @Override
+    public Mono<Integer> hardDeleteByIdAndVersion(Long id, long version) {
+        return mono(() -> jdbcClient.sql("DELETE FROM developer WHERE id = :id AND version = :version")
+                .param("id", id)
+                .param("version", version)
+                .update());
+    }
+
+    @Override
+    public Flux<Developer> findAllByIds(Long[] ids) {
+        return flux(() -> jdbcClient.sql("SELECT * FROM developer WHERE id = ANY(:ids)")
+                .param("ids", ids)
+                .query(ROW_MAPPER)
+                .list());
+    }
+
+    @Override
+    public Flux<Long> softDeleteAllById(Long[] ids) {
+        return flux(() -> jdbcClient.sql("""
+                        UPDATE developer SET status = 'DELETED', version = version + 1
+                        WHERE id = ANY(:ids) AND status = 'ACTIVE'
+                        RETURNING id""")
+                .param("ids", ids)
+                .query(Long.class)
+                .list());
+    }
+
+    @Override
+    public Flux<Long> hardDeleteAllById(Long[] ids) {
+        return flux(() -> jdbcClient.sql("DELETE FROM developer WHERE id = ANY(:ids) RETURNING id")
+                .param("ids", ids)
+                .query(Long.class)
+                .list());
+    }
+
+    @Override
+    public Mono<Developer> restoreById(Long id) {
+        return mono(() -> jdbcClient.sql("""
+                        UPDATE developer SET status = 'ACTIVE', version = version + 1
+                        WHERE id = :id AND status = 'DELETED'
+                        RETURNING *""")
+                .param("id", id)
+                .query(ROW_MAPPER)
+                .optional()
+                .orElse(null));
+    }
+
+    /**
+     * Reads the table in keyset pages of {@code fetchSize} rows, so no connection is held while the subscriber
+     * is slow. Unlike the R2DBC cursor this is not a single snapshot: rows committed between pages may appear.
+     */
+    @Override
+    public Flux<Developer> streamAll() {
+        return streamPages(this::findAllAfter);
+    }
+
+    @Override
+    public Flux<Developer> streamAllActive() {
+        return streamPages(this::findAllActiveAfter);
+    }
+
+    @Override
+    public Flux<Developer> insertAll(List<Developer> developers) {
+        if (developers.isEmpty()) {
+            return Flux.empty();
+        }
+        return flux(() -> jdbcClient.sql(DeveloperSql.INSERT_ALL)
+                .param("emails", DeveloperSql.column(developers, Developer::getEmail))
+                .param("firstNames", DeveloperSql.column(developers, Developer::getFirstName))
+                .param("lastNames", DeveloperSql.column(developers, Developer::getLastName))
+                .param("specialities", DeveloperSql.column(developers, Developer::getSpeciality))
+                .param("statuses", DeveloperSql.column(developers,
+                        developer -> Objects.requireNonNullElse(developer.getStatus(), Status.ACTIVE).name()))
+                .query(ROW_MAPPER)
+                .list());
+    }
+
+    @Override
+    public Flux<Developer> updateAll(List<Developer> developers) {
+        if (developers.isEmpty()) {
+            return Flux.empty();
+        }
+        return flux(() -> jdbcClient.sql(DeveloperSql.UPDATE_ALL)
+                .param("ids", developers.stream().map(Developer::getId).toArray(Long[]::new))
+                .param("emails", DeveloperSql.column(developers, Developer::getEmail))
+                .param("firstNames", DeveloperSql.column(developers, Developer::getFirstName))
+                .param("lastNames", DeveloperSql.column(developers, Developer::getLastName))
+                .param("specialities", DeveloperSql.column(developers, Developer::getSpeciality))
+                .param("statuses", DeveloperSql.column(developers,
+                        developer -> developer.getStatus() == null ? null : developer.getStatus().name()))
+                .param("versions", DeveloperSql.longColumn(developers, Developer::getVersion))
+                .query(ROW_MAPPER)
+                .list());
+    }
+
+    @Override
+    public Mono<Developer> patch(Long id, Developer changes) {
+        Map<String, Object> columns = DeveloperSql.patchColumns(changes);
+        String sql = DeveloperSql.patch(columns, changes.getVersion() != null);
+        return mono(() -> {
+            JdbcClient.StatementSpec statement = jdbcClient.sql(sql)
+                    .param("id", id)
+                    .params(columns);
+            if (changes.getVersion() != null) {
+                statement = statement.param("version", changes.getVersion());
+            }
+            return statement.query(ROW_MAPPER)
+                    .optional()
+                    .orElse(null);
+        });
+    }
+
+    @Override
+    public Flux<Tuple2<Developer, Float>> search(String query, float afterScore, long afterId, int limit) {
+        return flux(() -> jdbcClient.sql(DeveloperSql.SEARCH)
+                .param("query", query)
+                .param("afterScore", afterScore)
+                .param("afterId", afterId)
+                .param("limit", limit)
+                .query((resultSet, rowNum) -> Tuples.of(ROW_MAPPER.mapRow(resultSet, rowNum),
+                        resultSet.getFloat("score")))
+                .list());
+    }
+
+    private <S extends Developer> S insert(S developer) {
+        JdbcClient.StatementSpec statement = jdbcClient.sql(developer.getId() == null ? INSERT_SQL : INSERT_WITH_ID_SQL)
+                .param("email", developer.getEmail())
+                .param("firstName", developer.getFirstName())
+                .param("lastName", developer.getLastName())
+                .param("speciality", developer.getSpeciality())
+                .param("status", developer.getStatus() == null ? null : developer.getStatus().name());
+        if (developer.getId() != null) {
+            statement = statement.param("id", developer.getId());
+        }
+        Map<String, Object> keys = statement.query().singleRow();
+        developer.setId(((Number) keys.get("id")).longValue());
+        developer.setVersion(((Number) keys.get("version")).longValue());
+        return developer;
+    }
+
+    private <S extends Developer> S update(S developer) {
+        Long version = jdbcClient.sql(UPDATE_SQL)
+                .param("id", developer.getId())
+                .param("version", developer.getVersion())
+                .param("email", developer.getEmail())
+                .param("firstName", developer.getFirstName())
+                .param("lastName", developer.getLastName())
+                .param("speciality", developer.getSpeciality())
+                .param("status", developer.getStatus() == null ? null : developer.getStatus().name())
+                .query(Long.class)
+                .optional()
+                .orElseThrow(() -> new OptimisticLockingFailureException(
+                        "Failed to update versioned developer with id '%d' and version '%d'"
+                                .formatted(developer.getId(), developer.getVersion())));
+        developer.setVersion(version);
+        return developer;
+    }
+
+    private Flux<Developer> streamPages(BiFunction<Long, Integer, Flux<Developer>> pageAfter) {
+        return pageAfter.apply(0L, fetchSize)
+                .collectList()
+                .expand(page -> page.size() < fetchSize ?
+                        Mono.empty() :
+                        pageAfter.apply(page.getLast().getId(), fetchSize).collectList())
+                .flatMapIterable(Function.identity());
+    }
+
+    private <T> Mono<T> mono(Callable<T> callable) {
+        return Mono.fromCallable(callable)
+                .subscribeOn(scheduler);
+    }
+
+    private <T> Flux<T> flux(Callable<List<T>> callable) {
+        return mono(callable)
+                .flatMapIterable(Function.identity());
+    }
+}
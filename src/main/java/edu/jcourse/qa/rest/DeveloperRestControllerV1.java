@@ -1,60 +1,257 @@
 package edu.jcourse.qa.rest;
 
+import edu.jcourse.qa.dto.BatchResultDto;
+import edu.jcourse.qa.dto.DeveloperChangeDto;
 import edu.jcourse.qa.dto.DeveloperDto;
+import edu.jcourse.qa.dto.DeveloperMatchDto;
+import edu.jcourse.qa.dto.DeveloperStatsDto;
+import edu.jcourse.qa.dto.ImportResultDto;
 import edu.jcourse.qa.exception.ApiException;
 import edu.jcourse.qa.service.DeveloperService;
+import edu.jcourse.qa.util.CsvUtils;
+import edu.jcourse.qa.util.CursorUtils;
+import edu.jcourse.qa.util.EtagUtils;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+import java.util.function.Function;
+
 @RestController
 @RequestMapping("/api/v1/developers")
 @RequiredArgsConstructor
 public class DeveloperRestControllerV1 {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final String LAST_EVENT_ID_HEADER = "Last-Event-ID";
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final DeveloperService developerService;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public Mono<DeveloperDto> create(@RequestBody DeveloperDto developerDto) {
-        return developerService.save(developerDto)
-                .switchIfEmpty(Mono.error(new ApiException(HttpStatus.BAD_REQUEST, "Developer already exists")));
+    public Mono<DeveloperDto> create(@RequestBody DeveloperDto developerDto,
+                                     @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        Mono<DeveloperDto> created = idempotencyKey == null ?
+                developerService.save(developerDto) :
+                developerService.save(developerDto, idempotencyKey);
+        return created
+                .switchIfEmpty(Mono.error(() -> new ApiException(HttpStatus.BAD_REQUEST, "Developer already exists")));
+    }
+
+    @PostMapping("/batch")
+    public Flux<BatchResultDto> createAll(@RequestBody Flux<DeveloperDto> developers) {
+        return developerService.saveAll(developers);
+    }
+
+    @PutMapping("/batch")
+    public Flux<BatchResultDto> updateAll(@RequestBody Flux<DeveloperDto> developers) {
+        return developerService.updateAll(developers);
+    }
+
+    @DeleteMapping("/batch")
+    public Flux<BatchResultDto> deleteAll(@RequestBody Flux<Long> ids,
+                                          @RequestParam(defaultValue = "false") boolean force) {
+        return developerService.deleteAll(ids, force);
     }
 
     @PutMapping("/{id}")
-    public Mono<DeveloperDto> update(@PathVariable Long id,
-                                     @RequestBody DeveloperDto developerDto) {
-        return developerService.update(id, developerDto)
-                .switchIfEmpty(Mono.error(new ApiException(HttpStatus.NOT_FOUND, "Developer not found")));
+    public Mono<ResponseEntity<DeveloperDto>> update(@PathVariable Long id,
+                                                     @RequestBody DeveloperDto developerDto,
+                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = EtagUtils.parseVersion(ifMatch);
+        Mono<DeveloperDto> updated = expectedVersion == null ?
+                developerService.update(id, developerDto) :
+                preconditionChecked(developerService.update(id, developerDto.withVersion(expectedVersion)));
+        return updated
+                .map(DeveloperRestControllerV1::okWithEtag)
+                .switchIfEmpty(Mono.error(DeveloperRestControllerV1::developerNotFound));
+    }
+
+    @PatchMapping("/{id}")
+    public Mono<ResponseEntity<DeveloperDto>> patch(@PathVariable Long id,
+                                                    @RequestBody DeveloperDto developerDto) {
+        return developerService.patch(id, developerDto)
+                .map(DeveloperRestControllerV1::okWithEtag)
+                .switchIfEmpty(Mono.error(DeveloperRestControllerV1::developerNotFound));
     }
 
     @GetMapping("/{id}")
-    public Mono<DeveloperDto> findById(@PathVariable Long id) {
-        return developerService.findById(id)
-                .switchIfEmpty(Mono.error(new ApiException(HttpStatus.NOT_FOUND, "Developer not found")));
+    public Mono<ResponseEntity<DeveloperDto>> findById(@PathVariable Long id,
+                                                       @RequestParam(defaultValue = "false") boolean includeDeleted) {
+        return developerService.findById(id, includeDeleted)
+                .map(DeveloperRestControllerV1::okWithEtag)
+                .switchIfEmpty(Mono.error(DeveloperRestControllerV1::developerNotFound));
+    }
+
+    @PostMapping("/{id}/restore")
+    public Mono<ResponseEntity<DeveloperDto>> restore(@PathVariable Long id) {
+        return developerService.restore(id)
+                .map(DeveloperRestControllerV1::okWithEtag)
+                .switchIfEmpty(Mono.error(DeveloperRestControllerV1::developerNotFound));
     }
 
     @GetMapping
-    public Flux<DeveloperDto> findAll() {
-        return developerService.findAll();
+    public Mono<ResponseEntity<List<DeveloperDto>>> findAll(@RequestParam(required = false) String after,
+                                                            @RequestParam(defaultValue = "100") int limit,
+                                                            @RequestParam(defaultValue = "false") boolean includeDeleted) {
+        return findPage(after, limit, (afterId, pageSize) ->
+                developerService.findAll(afterId, pageSize, includeDeleted));
+    }
+
+    @GetMapping(params = "ids")
+    public Mono<List<DeveloperDto>> findAllById(@RequestParam List<Long> ids,
+                                                @RequestParam(defaultValue = "false") boolean includeDeleted) {
+        if (ids.size() > MAX_PAGE_SIZE) {
+            return Mono.error(new ApiException(HttpStatus.BAD_REQUEST,
+                    "At most " + MAX_PAGE_SIZE + " ids can be requested at once"));
+        }
+        return developerService.findAllById(ids, includeDeleted)
+                .collectList();
+    }
+
+    @GetMapping("/search")
+    public Mono<ResponseEntity<List<DeveloperDto>>> search(@RequestParam("q") String query,
+                                                           @RequestParam(required = false) String after,
+                                                           @RequestParam(defaultValue = "20") int limit) {
+        int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        return Mono.fromCallable(() -> CursorUtils.decodeRanked(after))
+                .flatMapMany(position -> developerService.search(query, position.score(), position.id(), pageSize + 1))
+                .collectList()
+                .map(matches -> toPage(matches, pageSize, DeveloperMatchDto::developer,
+                        last -> CursorUtils.encode(last.score(), last.developer().id())));
+    }
+
+    @GetMapping("/stats")
+    public Mono<DeveloperStatsDto> findStats() {
+        return developerService.findStats();
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<DeveloperDto> streamAll(@RequestParam(defaultValue = "false") boolean includeDeleted) {
+        return developerService.findAll(includeDeleted);
+    }
+
+    /**
+     * Streams every active developer from a database cursor, as CSV unless NDJSON is requested.
+     */
+    @GetMapping(value = "/export", produces = {CsvUtils.TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<DeveloperDto> export(@RequestParam(defaultValue = "false") boolean includeDeleted) {
+        return developerService.findAll(includeDeleted);
+    }
+
+    @PostMapping(value = "/import", consumes = {CsvUtils.TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Mono<ImportResultDto> importAll(@RequestBody Flux<DeveloperDto> developers) {
+        return developerService.importAll(developers);
+    }
+
+    @GetMapping("/changes")
+    public Flux<ServerSentEvent<DeveloperChangeDto>> streamChanges(
+            @RequestHeader(value = LAST_EVENT_ID_HEADER, required = false) Long lastEventId,
+            @RequestParam(required = false) Long after) {
+        return developerService.findChanges(lastEventId != null ? lastEventId : after)
+                .map(change -> ServerSentEvent.builder(change)
+                        .id(String.valueOf(change.offset()))
+                        .event(change.type().name())
+                        .build());
+    }
+
+    @GetMapping(value = "/changes", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<DeveloperChangeDto> streamChangesAsNdjson(@RequestParam(required = false) Long after) {
+        return developerService.findChanges(after);
     }
 
     @GetMapping("/specialty/{specialty}")
-    public Flux<DeveloperDto> findAllActiveBySpecialty(@PathVariable String specialty) {
-        return developerService.findAllActiveBySpecialty(specialty);
+    public Mono<ResponseEntity<List<DeveloperDto>>> findAllActiveBySpecialty(@PathVariable String specialty,
+                                                                             @RequestParam(required = false) String after,
+                                                                             @RequestParam(defaultValue = "100") int limit) {
+        return findPage(after, limit, (afterId, pageSize) ->
+                developerService.findAllActiveBySpecialty(specialty, afterId, pageSize));
     }
 
     @DeleteMapping("/{id}")
     public Mono<ResponseEntity<Object>> delete(@PathVariable Long id,
-                                               @RequestParam(defaultValue = "false") boolean force) {
-        Mono<Boolean> booleanMono = force ?
-                developerService.hardDeleteById(id) :
-                developerService.softDeleteById(id);
+                                               @RequestParam(defaultValue = "false") boolean force,
+                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = EtagUtils.parseVersion(ifMatch);
+        Mono<Boolean> booleanMono;
+        if (expectedVersion == null) {
+            booleanMono = force ?
+                    developerService.hardDeleteById(id) :
+                    developerService.softDeleteById(id);
+        } else {
+            booleanMono = preconditionChecked(force ?
+                    developerService.hardDeleteById(id, expectedVersion) :
+                    developerService.softDeleteById(id, expectedVersion));
+        }
         return booleanMono
                 .flatMap(deleted -> Mono.fromCallable(() -> deleted ?
                         ResponseEntity.noContent().build() :
                         ResponseEntity.notFound().build()));
     }
+
+    private static ApiException developerNotFound() {
+        return new ApiException(HttpStatus.NOT_FOUND, "Developer not found");
+    }
+
+    /**
+     * The tag only reflects the version, so it is shared by every negotiated representation and caches must key
+     * on {@code Accept} as well.
+     */
+    private static ResponseEntity<DeveloperDto> okWithEtag(DeveloperDto developerDto) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT);
+        String etag = EtagUtils.of(developerDto);
+        if (etag != null) {
+            builder.eTag(etag);
+        }
+        return builder.body(developerDto);
+    }
+
+    /**
+     * A concurrent modification detected for a request with {@code If-Match} means its precondition failed.
+     */
+    private static <T> Mono<T> preconditionChecked(Mono<T> mono) {
+        return mono.onErrorMap(e -> e instanceof ApiException apiException
+                                    && apiException.getStatus() == HttpStatus.CONFLICT,
+                e -> new ApiException(HttpStatus.PRECONDITION_FAILED, "Developer version does not match"));
+    }
+
+    private Mono<ResponseEntity<List<DeveloperDto>>> findPage(String after, int limit, PageQuery query) {
+        int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        return Mono.fromCallable(() -> CursorUtils.decode(after))
+                .flatMapMany(afterId -> query.find(afterId, pageSize + 1))
+                .collectList()
+                .map(developers -> toPage(developers, pageSize, Function.identity(),
+                        last -> CursorUtils.encode(last.id())));
+    }
+
+    /**
+     * Builds a page from {@code pageSize + 1} fetched items; the extra item only signals that a next page exists.
+     */
+    private static <T> ResponseEntity<List<DeveloperDto>> toPage(List<T> items, int pageSize,
+                                                                 Function<T, DeveloperDto> content,
+                                                                 Function<T, String> cursor) {
+        List<T> pageItems = items.size() <= pageSize ? items : items.subList(0, pageSize);
+        List<DeveloperDto> page = pageItems.stream().map(content).toList();
+        String nextCursor = items.size() > pageSize ? cursor.apply(pageItems.getLast()) : null;
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .eTag(EtagUtils.of(page, nextCursor))
+                .varyBy(HttpHeaders.ACCEPT);
+        if (nextCursor != null) {
+            builder.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return builder.body(page);
+    }
+
+    @FunctionalInterface
+    private interface PageQuery {
+        Flux<DeveloperDto> find(long afterId, int limit);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,105 @@
+package edu.jcourse.qa.rest.codec;
+
+import edu.jcourse.qa.dto.DeveloperDto;
+import edu.jcourse.qa.entity.Status;
+import edu.jcourse.qa.util.CsvUtils;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.AbstractDecoder;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.codec.StringDecoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.SynchronousSink;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads {@code text/csv} developers line by line as the upload arrives, so memory is bounded by one line.
+ * <p>
+ * The first line names the columns, in any order, using the same names as the export. A row that cannot
+ * be parsed is emitted without values, so it is reported as invalid instead of failing the whole upload.
+ * Quoted values spanning several lines are not supported.
+ */
+public class DeveloperCsvDecoder extends AbstractDecoder<DeveloperDto> {
+    private static final ResolvableType STRING_TYPE = ResolvableType.forClass(String.class);
+    private static final DeveloperDto INVALID_ROW = DeveloperDto.builder().build();
+
+    private final StringDecoder lineDecoder = StringDecoder.allMimeTypes(List.of("\r\n", "\n"), true);
+
+    public DeveloperCsvDecoder() {
+        super(CsvUtils.TEXT_CSV);
+    }
+
+    @Override
+    public boolean canDecode(ResolvableType elementType, MimeType mimeType) {
+        return mimeType != null
+               && super.canDecode(elementType, mimeType)
+               && elementType.toClass() == DeveloperDto.class;
+    }
+
+    @Override
+    public Flux<DeveloperDto> decode(Publisher<DataBuffer> inputStream, ResolvableType elementType,
+                                     MimeType mimeType, Map<String, Object> hints) {
+        return Flux.defer(() -> {
+            Map<String, Integer> columns = new HashMap<>();
+            return lineDecoder.decode(inputStream, STRING_TYPE, mimeType, hints)
+                    .filter(line -> !line.isBlank())
+                    .handle((String line, SynchronousSink<DeveloperDto> sink) -> {
+                        if (columns.isEmpty()) {
+                            readHeader(line, columns);
+                        } else {
+                            sink.next(readRow(line, columns));
+                        }
+                    });
+        });
+    }
+
+    private static void readHeader(String line, Map<String, Integer> columns) {
+        List<String> names;
+        try {
+            names = CsvUtils.parseRow(line);
+        } catch (IllegalArgumentException e) {
+            throw new DecodingException("Invalid CSV header", e);
+        }
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).strip().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("email")) {
+            throw new DecodingException("CSV header must contain an email column");
+        }
+    }
+
+    private static DeveloperDto readRow(String line, Map<String, Integer> columns) {
+        try {
+            List<String> values = CsvUtils.parseRow(line);
+            String id = value(values, columns, "id");
+            String status = value(values, columns, "status");
+            String version = value(values, columns, "version");
+            return DeveloperDto.builder()
+                    .id(id == null ? null : Long.valueOf(id))
+                    .email(value(values, columns, "email"))
+                    .firstName(value(values, columns, "first_name"))
+                    .lastName(value(values, columns, "last_name"))
+                    .speciality(value(values, columns, "speciality"))
+                    .status(status == null ? null : Status.valueOf(status.toUpperCase(Locale.ROOT)))
+                    .version(version == null ? null : Long.valueOf(version))
+                    .build();
+        } catch (IllegalArgumentException e) {
+            return INVALID_ROW;
+        }
+    }
+
+    private static String value(List<String> values, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index).strip();
+        return value.isEmpty() ? null : value;
+    }
+}
@@ -0,0 +1,57 @@
+package edu.jcourse.qa.rest.codec;
+
+import edu.jcourse.qa.dto.DeveloperDto;
+import edu.jcourse.qa.util.CsvUtils;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.AbstractEncoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes developers as {@code text/csv}: a header line, then one buffer per row as the rows arrive.
+ * Only used when {@code text/csv} is requested explicitly, JSON stays the default representation.
+ */
+public class DeveloperCsvEncoder extends AbstractEncoder<DeveloperDto> {
+    static final List<String> COLUMNS = List.of("id", "email", "first_name", "last_name", "speciality", "status", "version");
+
+    public DeveloperCsvEncoder() {
+        super(CsvUtils.TEXT_CSV);
+    }
+
+    @Override
+    public boolean canEncode(ResolvableType elementType, MimeType mimeType) {
+        return mimeType != null
+               && super.canEncode(elementType, mimeType)
+               && DeveloperDto.class.isAssignableFrom(elementType.toClass());
+    }
+
+    @Override
+    public Flux<DataBuffer> encode(Publisher<? extends DeveloperDto> inputStream, DataBufferFactory bufferFactory,
+                                   ResolvableType elementType, MimeType mimeType, Map<String, Object> hints) {
+        return Flux.from(inputStream)
+                .map(developer -> encodeValue(developer, bufferFactory, elementType, mimeType, hints))
+                .startWith(Mono.fromSupplier(() -> encodeRow(COLUMNS, bufferFactory)));
+    }
+
+    @Override
+    public DataBuffer encodeValue(DeveloperDto developer, DataBufferFactory bufferFactory,
+                                  ResolvableType valueType, MimeType mimeType, Map<String, Object> hints) {
+        return encodeRow(Arrays.asList(developer.id(), developer.email(), developer.firstName(),
+                developer.lastName(), developer.speciality(), developer.status(), developer.version()), bufferFactory);
+    }
+
+    private static DataBuffer encodeRow(List<?> values, DataBufferFactory bufferFactory) {
+        StringBuilder row = new StringBuilder(128);
+        CsvUtils.appendRow(row, values);
+        return bufferFactory.wrap(row.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,32 @@
+package edu.jcourse.qa.rest.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.jcourse.qa.exception.ApiException;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+
+import java.util.Map;
+
+/**
+ * {@link Jackson2CborEncoder} cannot write a stream of values, so streamed bodies are answered with {@code 406}
+ * before the handler's publisher is subscribed, instead of failing with a {@code 500}.
+ */
+public class SingleValueCborEncoder extends Jackson2CborEncoder {
+
+    public SingleValueCborEncoder(ObjectMapper mapper) {
+        super(mapper);
+    }
+
+    @Override
+    public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                                   ResolvableType elementType, MimeType mimeType, Map<String, Object> hints) {
+        return Flux.error(new ApiException(HttpStatus.NOT_ACCEPTABLE,
+                "Streaming responses are not available as application/cbor"));
+    }
+}
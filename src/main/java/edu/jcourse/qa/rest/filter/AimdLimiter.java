@@ -0,0 +1,76 @@
+package edu.jcourse.qa.rest.filter;
+
+import edu.jcourse.qa.config.RateLimitProperties;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Adaptive concurrency limit: additive increase while requests complete under the latency threshold,
+ * multiplicative decrease on overload failures or when a whole sample window is slow on average.
+ */
+final class AimdLimiter {
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final int sampleWindow;
+    private final AtomicInteger limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private int windowSamples;
+    private long windowLatencyNanos;
+
+    AimdLimiter(RateLimitProperties.Concurrency properties) {
+        this.minLimit = Math.max(properties.minLimit(), 1);
+        this.maxLimit = Math.max(properties.maxLimit(), minLimit);
+        this.latencyThresholdNanos = properties.latencyThreshold().toNanos();
+        this.backoffRatio = properties.backoffRatio();
+        this.sampleWindow = Math.max(properties.sampleWindow(), 1);
+        this.limit = new AtomicInteger(Math.clamp(properties.initialLimit(), minLimit, maxLimit));
+    }
+
+    /**
+     * @return {@code false} when the limit is reached, the request must then be rejected without release
+     */
+    boolean tryAcquire() {
+        if (inFlight.incrementAndGet() > limit.get()) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    void release(long latencyNanos, boolean overloaded) {
+        int current = inFlight.getAndDecrement();
+        if (overloaded || isSlowWindow(latencyNanos)) {
+            limit.updateAndGet(value -> Math.max(minLimit, (int) (value * backoffRatio)));
+        } else if (latencyNanos <= latencyThresholdNanos && current * 2 >= limit.get()) {
+            limit.updateAndGet(value -> Math.min(maxLimit, value + 1));
+        }
+    }
+
+    /**
+     * Frees the slot without a latency sample, for requests whose duration says nothing about the backend.
+     */
+    void release() {
+        inFlight.decrementAndGet();
+    }
+
+    int getLimit() {
+        return limit.get();
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized boolean isSlowWindow(long latencyNanos) {
+        windowLatencyNanos += latencyNanos;
+        if (++windowSamples < sampleWindow) {
+            return false;
+        }
+        long averageNanos = windowLatencyNanos / windowSamples;
+        windowSamples = 0;
+        windowLatencyNanos = 0;
+        return averageNanos > latencyThresholdNanos;
+    }
+}
@@ -0,0 +1,268 @@
+package edu.jcourse.qa.rest.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import edu.jcourse.qa.config.RateLimitProperties;
+import edu.jcourse.qa.exception.ApiException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.ErrorResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Sheds load before it reaches the database: a per-client token bucket answers {@code 429}, and an adaptive
+ * limit of requests in flight per endpoint group answers {@code 503}, both with {@code Retry-After}.
+ */
+public class RateLimitWebFilter implements WebFilter, Ordered {
+    private static final byte[] TOO_MANY_REQUESTS_BODY = errorBody(HttpStatus.TOO_MANY_REQUESTS, "Too many requests");
+    private static final byte[] SERVICE_UNAVAILABLE_BODY = errorBody(HttpStatus.SERVICE_UNAVAILABLE, "Service overloaded");
+    private static final Set<MediaType> STREAMING_TYPES = Set.of(MediaType.APPLICATION_NDJSON, MediaType.TEXT_EVENT_STREAM);
+
+    private final RateLimitProperties properties;
+    private final Set<InetAddress> trustedProxies;
+    private final List<PathPattern> excludePaths;
+    private final List<EndpointLimiter> endpoints;
+    private final Cache<String, TokenBucket> buckets;
+
+    public RateLimitWebFilter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.trustedProxies = properties.trustedProxies().stream()
+                .map(RateLimitWebFilter::address)
+                .collect(Collectors.toUnmodifiableSet());
+        this.excludePaths = parse(properties.excludePaths());
+        this.endpoints = properties.endpoints().stream()
+                .map(endpoint -> new EndpointLimiter(endpoint, meterRegistry))
+                .toList();
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.maxClients())
+                .expireAfterAccess(properties.idleClientTimeout())
+                .build();
+    }
+
+    @Override
+    public int getOrder() {
+        // after the metrics filter, so rejected requests are still recorded in http.server.requests
+        return Ordered.HIGHEST_PRECEDENCE + 10;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        PathContainer path = request.getPath().pathWithinApplication();
+        if (matches(excludePaths, path)) {
+            return chain.filter(exchange);
+        }
+        EndpointLimiter endpoint = findEndpoint(request.getMethod().name(), path);
+        if (endpoint == null) {
+            return chain.filter(exchange);
+        }
+
+        if (endpoint.properties.permitsPerSecond() <= 0) {
+            return limitConcurrency(exchange, chain, endpoint);
+        }
+        return clientId(exchange).flatMap(clientId -> {
+            long nowNanos = System.nanoTime();
+            TokenBucket bucket = buckets.get(endpoint.properties.name() + ':' + clientId,
+                    key -> new TokenBucket(endpoint.properties.permitsPerSecond(), endpoint.properties.burst(), nowNanos));
+            long waitNanos = bucket.tryAcquire(nowNanos);
+            if (waitNanos > 0) {
+                endpoint.rateLimited.increment();
+                return reject(exchange, HttpStatus.TOO_MANY_REQUESTS, TOO_MANY_REQUESTS_BODY, waitNanos);
+            }
+            return limitConcurrency(exchange, chain, endpoint);
+        });
+    }
+
+    private Mono<Void> limitConcurrency(ServerWebExchange exchange, WebFilterChain chain, EndpointLimiter endpoint) {
+        if (!endpoint.concurrency.tryAcquire()) {
+            endpoint.shed.increment();
+            return reject(exchange, HttpStatus.SERVICE_UNAVAILABLE, SERVICE_UNAVAILABLE_BODY,
+                    endpoint.properties.concurrency().latencyThreshold().toNanos());
+        }
+        Permit permit = new Permit(endpoint.concurrency);
+        if (endpoint.properties.holdStreams()) {
+            // a bulk transfer keeps its slot to the end, but its duration is not a latency sample
+            return chain.filter(exchange)
+                    .doFinally(signal -> permit.releaseUnmeasured());
+        }
+        ServerHttpResponse response = exchange.getResponse();
+        // a stream holds its slot only until it starts, its duration says nothing about database latency
+        response.beforeCommit(() -> {
+            if (isStreaming(response.getHeaders().getContentType())) {
+                permit.releaseUnmeasured();
+            }
+            return Mono.empty();
+        });
+        return chain.filter(exchange)
+                .doOnError(permit::fail)
+                .doFinally(signal -> permit.release());
+    }
+
+    private EndpointLimiter findEndpoint(String method, PathContainer path) {
+        for (EndpointLimiter endpoint : endpoints) {
+            if (endpoint.properties.methods().contains(method) && matches(endpoint.paths, path)) {
+                return endpoint;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The authenticated principal, else {@code clientIdHeader} set by a trusted proxy, else the remote address.
+     */
+    private Mono<String> clientId(ServerWebExchange exchange) {
+        return exchange.getPrincipal()
+                .map(Principal::getName)
+                .defaultIfEmpty(remoteClientId(exchange.getRequest()));
+    }
+
+    private String remoteClientId(ServerHttpRequest request) {
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        if (remoteAddress == null) {
+            return "unknown";
+        }
+        if (trustedProxies.contains(remoteAddress.getAddress())) {
+            String clientId = request.getHeaders().getFirst(properties.clientIdHeader());
+            if (clientId != null) {
+                return clientId;
+            }
+        }
+        return remoteAddress.getHostString();
+    }
+
+    private static boolean isStreaming(MediaType contentType) {
+        return contentType != null && STREAMING_TYPES.stream().anyMatch(contentType::equalsTypeAndSubtype);
+    }
+
+    private static InetAddress address(String literal) {
+        try {
+            return InetAddress.getByName(literal);
+        } catch (UnknownHostException e) {
+            throw new IllegalArgumentException("Invalid trusted proxy address: " + literal, e);
+        }
+    }
+
+    private static Mono<Void> reject(ServerWebExchange exchange, HttpStatus status, byte[] body, long retryAfterNanos) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(status);
+        long retryAfterSeconds = Math.ceilDiv(retryAfterNanos, TimeUnit.SECONDS.toNanos(1));
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfterSeconds)));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(body)));
+    }
+
+    private static boolean matches(List<PathPattern> patterns, PathContainer path) {
+        for (PathPattern pattern : patterns) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<PathPattern> parse(List<String> patterns) {
+        return patterns.stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+    }
+
+    /**
+     * Same shape as the errors rendered by {@code AppErrorWebExceptionHandler}, built once as rejections
+     * must stay cheap under overload.
+     */
+    private static byte[] errorBody(HttpStatus status, String message) {
+        return """
+                {"errors":[{"status":%d,"message":"%s"}]}""".formatted(status.value(), message)
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static final class EndpointLimiter {
+        private final RateLimitProperties.Endpoint properties;
+        private final List<PathPattern> paths;
+        private final AimdLimiter concurrency;
+        private final Counter rateLimited;
+        private final Counter shed;
+
+        private EndpointLimiter(RateLimitProperties.Endpoint properties, MeterRegistry meterRegistry) {
+            this.properties = properties;
+            this.paths = parse(properties.paths());
+            this.concurrency = new AimdLimiter(properties.concurrency());
+            this.rateLimited = rejections(meterRegistry, properties.name(), "rate");
+            this.shed = rejections(meterRegistry, properties.name(), "concurrency");
+            Gauge.builder("app.concurrency.limit", concurrency, AimdLimiter::getLimit)
+                    .tag("endpoint", properties.name())
+                    .register(meterRegistry);
+            Gauge.builder("app.concurrency.in.flight", concurrency, AimdLimiter::getInFlight)
+                    .tag("endpoint", properties.name())
+                    .register(meterRegistry);
+        }
+
+        private static Counter rejections(MeterRegistry meterRegistry, String endpoint, String reason) {
+            return Counter.builder("app.requests.rejected")
+                    .tag("endpoint", endpoint)
+                    .tag("reason", reason)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Releases its concurrency slot once, counting only server-side failures as overload.
+     */
+    private static final class Permit {
+        private final AimdLimiter limiter;
+        private final long startNanos = System.nanoTime();
+        private final AtomicBoolean released = new AtomicBoolean();
+        private volatile boolean overloaded;
+
+        private Permit(AimdLimiter limiter) {
+            this.limiter = limiter;
+        }
+
+        private void fail(Throwable error) {
+            overloaded = !isClientError(error);
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                limiter.release(System.nanoTime() - startNanos, overloaded);
+            }
+        }
+
+        private void releaseUnmeasured() {
+            if (released.compareAndSet(false, true)) {
+                limiter.release();
+            }
+        }
+
+        private static boolean isClientError(Throwable error) {
+            if (error instanceof ApiException apiException) {
+                return apiException.getStatus().is4xxClientError();
+            }
+            return error instanceof ErrorResponse errorResponse && errorResponse.getStatusCode().is4xxClientError();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package edu.jcourse.qa.rest.filter;
+
+import edu.jcourse.qa.config.DataSourceRoute;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Gives every request its own write marker, so reads following a write in the same request
+ * are served by the primary.
+ */
+public class ReadYourWritesWebFilter implements WebFilter {
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        return chain.filter(exchange)
+                .contextWrite(DataSourceRoute::trackWrites);
+    }
+}
@@ -0,0 +1,98 @@
+package edu.jcourse.qa.rest.filter;
+
+import edu.jcourse.qa.config.RequestTiming;
+import edu.jcourse.qa.config.ServerTimingProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts a {@link RequestTiming} for every request and reports it in the {@code Server-Timing} header.
+ * <p>
+ * The header is written when the response is committed, so streamed responses only report what happened
+ * before their first element. A sampled share of requests also records its statements; sampled requests
+ * slower than the threshold are logged with them.
+ */
+@Slf4j
+public class ServerTimingWebFilter implements WebFilter, Ordered {
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private final ServerTimingProperties properties;
+    private final long slowThresholdNanos;
+
+    public ServerTimingWebFilter(ServerTimingProperties properties) {
+        this.properties = properties;
+        this.slowThresholdNanos = properties.slowThreshold().toNanos();
+    }
+
+    @Override
+    public int getOrder() {
+        // before rate limiting, so rejected requests still report their time
+        return Ordered.HIGHEST_PRECEDENCE + 5;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        boolean sampled = properties.sampleRate() > 0 && ThreadLocalRandom.current().nextDouble() < properties.sampleRate();
+        RequestTiming timing = new RequestTiming(sampled ? properties.maxStatements() : 0);
+        ServerHttpResponse response = exchange.getResponse();
+        response.beforeCommit(() -> {
+            response.getHeaders().set(SERVER_TIMING_HEADER, timing.toServerTiming());
+            return Mono.empty();
+        });
+
+        Mono<Void> filtered = chain.filter(exchange.mutate()
+                        .response(new TimedResponse(response, timing))
+                        .build())
+                .contextWrite(context -> RequestTiming.put(context, timing));
+        return sampled ?
+                filtered.doFinally(signal -> logIfSlow(exchange, timing)) :
+                filtered;
+    }
+
+    private void logIfSlow(ServerWebExchange exchange, RequestTiming timing) {
+        long elapsed = timing.getElapsedNanos();
+        if (elapsed < slowThresholdNanos) {
+            return;
+        }
+        ServerHttpRequest request = exchange.getRequest();
+        log.warn("Slow request method={} path=\"{}\" status={} total_ms={} timing=\"{}\" statements={} dropped_statements={}",
+                request.getMethod(), request.getPath().value(), exchange.getResponse().getStatusCode(),
+                TimeUnit.NANOSECONDS.toMillis(elapsed), timing.toServerTiming(), timing.getStatements(),
+                timing.getDroppedStatements());
+    }
+
+    /**
+     * Times encoding of single-value bodies, which happens between subscribing to the body and its buffer.
+     */
+    private static class TimedResponse extends ServerHttpResponseDecorator {
+        private final RequestTiming timing;
+
+        TimedResponse(ServerHttpResponse delegate, RequestTiming timing) {
+            super(delegate);
+            this.timing = timing;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            if (!(body instanceof Mono<? extends DataBuffer> mono)) {
+                return super.writeWith(body);
+            }
+            return super.writeWith(Mono.defer(() -> {
+                long start = System.nanoTime();
+                return mono.doOnNext(buffer -> timing.record(RequestTiming.Stage.SER, System.nanoTime() - start));
+            }));
+        }
+    }
+}
@@ -8,29 +8,59 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.server.ServerRequest;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 public class AppErrorAttributes extends DefaultErrorAttributes {
 
+    private static final int MAX_CACHED_API_ERRORS = 256;
+
+    private final Map<HttpStatus, Map<String, Map<String, Object>>> apiErrorAttributes = new ConcurrentHashMap<>();
+
     @Override
     public Map<String, Object> getErrorAttributes(ServerRequest request, ErrorAttributeOptions options) {
-        Map<String, Object> errorAttributes = super.getErrorAttributes(request, ErrorAttributeOptions.defaults());
         Throwable error = getError(request);
+        if (error instanceof ApiException apiException) {
+            return getApiErrorAttributes(apiException);
+        }
 
-        List<Map<String, Object>> errorList = new ArrayList<>();
-        HttpStatus status = error instanceof ApiException apiException ?
-                apiException.getStatus() :
-                HttpStatus.INTERNAL_SERVER_ERROR;
+        Map<String, Object> errorAttributes = super.getErrorAttributes(request, ErrorAttributeOptions.defaults());
         String errorMessage = error.getMessage();
         if (errorMessage == null) {
             errorMessage = error.getClass().getName();
         }
+        errorAttributes.putAll(createErrorAttributes(HttpStatus.INTERNAL_SERVER_ERROR, errorMessage));
+
+        return errorAttributes;
+    }
+
+    /**
+     * Api errors come from a small set of status and message pairs, so their immutable attributes are built once
+     * and reused instead of allocating the default attributes and error maps on every request.
+     */
+    private Map<String, Object> getApiErrorAttributes(ApiException apiException) {
+        HttpStatus status = apiException.getStatus();
+        String message = Objects.requireNonNullElse(apiException.getMessage(), ApiException.class.getName());
+        Map<String, Map<String, Object>> byMessage = apiErrorAttributes.get(status);
+        Map<String, Object> cached = byMessage == null ? null : byMessage.get(message);
+        if (cached != null) {
+            return cached;
+        }
 
-        errorList.add(createErrorMap(status, errorMessage));
+        Map<String, Object> attributes = Collections.unmodifiableMap(createErrorAttributes(status, message));
+        byMessage = apiErrorAttributes.computeIfAbsent(status, key -> new ConcurrentHashMap<>());
+        if (byMessage.size() < MAX_CACHED_API_ERRORS) {
+            byMessage.putIfAbsent(message, attributes);
+        }
+        return attributes;
+    }
+
+    private Map<String, Object> createErrorAttributes(HttpStatus status, String message) {
+        List<Map<String, Object>> errorList = List.of(createErrorMap(status, message));
 
+        Map<String, Object> errorAttributes = new LinkedHashMap<>();
         errorAttributes.put("status", status.value());
         errorAttributes.put("errors", Collections.singletonMap("errors", errorList));
-
         return errorAttributes;
     }
 
@@ -38,6 +68,6 @@ public class AppErrorAttributes extends DefaultErrorAttributes {
         Map<String, Object> errorMap = new LinkedHashMap<>();
         errorMap.put("status", status.value());
         errorMap.put("message", message);
-        return errorMap;
+        return Collections.unmodifiableMap(errorMap);
     }
-}
\ No newline at end of file
+}
@@ -28,7 +28,9 @@ public class AppErrorWebExceptionHandler extends AbstractErrorWebExceptionHandle
         return RouterFunctions.route(RequestPredicates.all(), request -> {
             var props = getErrorAttributes(request, ErrorAttributeOptions.defaults());
 
-            return ServerResponse.status(Integer.parseInt(props.getOrDefault("status", 500).toString()))
+            int status = props.get("status") instanceof Integer value ? value : 500;
+
+            return ServerResponse.status(status)
                     .contentType(MediaType.APPLICATION_JSON)
                     .body(BodyInserters.fromValue(props.get("errors")));
         });
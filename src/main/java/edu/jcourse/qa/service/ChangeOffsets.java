@@ -0,0 +1,46 @@
+package edu.jcourse.qa.service;
+
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * Offsets of the change log delivered within a trailing window below the highest one.
+ * <p>
+ * Offsets are assigned on insert but become visible on commit, so a lower offset can appear after a higher
+ * one. Everything above {@link #readFrom()} is read again, and only offsets not delivered yet pass.
+ */
+final class ChangeOffsets {
+    private final int window;
+    private final NavigableSet<Long> delivered = new TreeSet<>();
+    private long floor;
+
+    /**
+     * @param floor offsets up to this one are treated as delivered
+     */
+    ChangeOffsets(long floor, int window) {
+        this.floor = floor;
+        this.window = Math.max(window, 0);
+    }
+
+    /**
+     * @return {@code true} the first time {@code offset} is seen above the window
+     */
+    synchronized boolean markDelivered(long offset) {
+        if (offset <= floor || !delivered.add(offset)) {
+            return false;
+        }
+        long windowStart = delivered.last() - window;
+        if (windowStart > floor) {
+            floor = windowStart;
+            delivered.headSet(floor, true).clear();
+        }
+        return true;
+    }
+
+    /**
+     * @return offset after which the change log has to be read again
+     */
+    synchronized long readFrom() {
+        return floor;
+    }
+}
@@ -0,0 +1,63 @@
+package edu.jcourse.qa.service;
+
+import edu.jcourse.qa.config.ArchiveProperties;
+import edu.jcourse.qa.repository.DeveloperArchiveRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically moves developers soft-deleted longer than {@code app.archive.retention} ago to the archive.
+ * <p>
+ * Rows are moved in chunks of {@code chunk-size}, each in its own short transaction, with a pause between
+ * chunks that keeps the rate under {@code max-rows-per-second}. A run ends with the first chunk that is not
+ * full. Archived developers were not {@code ACTIVE}, so nothing has to be evicted from the cache.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.archive", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class DeveloperArchiver {
+
+    private final DeveloperArchiveRepository archiveRepository;
+    private final ArchiveProperties properties;
+    private final Duration chunkPause;
+
+    public DeveloperArchiver(DeveloperArchiveRepository archiveRepository, ArchiveProperties properties) {
+        this.archiveRepository = archiveRepository;
+        this.properties = properties;
+        this.chunkPause = Duration.ofNanos(
+                TimeUnit.SECONDS.toNanos(properties.chunkSize()) / Math.max(1, properties.maxRowsPerSecond()));
+    }
+
+    @Scheduled(fixedDelayString = "${app.archive.interval:PT1H}")
+    public Mono<Void> archiveExpired() {
+        return Mono.defer(() -> archiveDeletedBefore(OffsetDateTime.now().minus(properties.retention())))
+                .then();
+    }
+
+    /**
+     * @return number of archived developers
+     */
+    public Mono<Long> archiveDeletedBefore(OffsetDateTime before) {
+        return archiveChunk(before)
+                .expand(archived -> archived < properties.chunkSize() ?
+                        Mono.empty() :
+                        archiveChunk(before).delaySubscription(chunkPause))
+                .reduce(0L, Long::sum)
+                .doOnNext(total -> {
+                    if (total > 0) {
+                        log.info("Archived {} developers deleted before {}", total, before);
+                    }
+                });
+    }
+
+    private Mono<Long> archiveChunk(OffsetDateTime before) {
+        return archiveRepository.archiveDeletedBefore(before, properties.chunkSize());
+    }
+}
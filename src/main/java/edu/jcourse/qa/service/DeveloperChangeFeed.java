@@ -0,0 +1,143 @@
+package edu.jcourse.qa.service;
+
+import edu.jcourse.qa.config.DeveloperChangeProperties;
+import edu.jcourse.qa.dto.DeveloperChangeDto;
+import edu.jcourse.qa.mapper.DeveloperChangeMapper;
+import edu.jcourse.qa.repository.DeveloperChangeRepository;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.postgresql.api.PostgresqlResult;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Wrapped;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+
+/**
+ * Fans out developer changes recorded by the {@code developer_change} triggers to in-process subscribers.
+ * <p>
+ * One dedicated connection per instance listens on the {@value CHANNEL} channel. Each notification only wakes
+ * the reader, which then reads the change log after the last seen offset, so changes committed while the
+ * connection was down are replayed on reconnect. Subscribers get a bounded buffer: a subscriber that falls
+ * behind is completed and resumes from its last offset.
+ * <p>
+ * Offsets are assigned on insert, so a transaction may commit after one holding a higher offset. The reader
+ * and resuming subscribers read the last {@code replay-window} offsets again and skip the ones already
+ * delivered. A resumed subscriber may get changes from that window a second time.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DeveloperChangeFeed {
+    static final String CHANNEL = "developer_changes";
+
+    private final ConnectionFactory connectionFactory;
+    private final DeveloperChangeRepository changeRepository;
+    private final DeveloperChangeMapper mapper;
+    private final DeveloperChangeProperties properties;
+    private final Sinks.Many<DeveloperChangeDto> changes = Sinks.many().multicast().directBestEffort();
+    private volatile ChangeOffsets delivered;
+    private Disposable listening;
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void start() {
+        listening = listen().subscribe(changes::tryEmitNext,
+                e -> log.error("Developer change feed stopped", e));
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (listening != null) {
+            listening.dispose();
+        }
+        changes.tryEmitComplete();
+    }
+
+    /**
+     * @param afterOffset offset of the last change seen by the subscriber, {@code null} for live changes only
+     */
+    public Flux<DeveloperChangeDto> subscribe(Long afterOffset) {
+        return Flux.defer(() -> {
+            Sinks.Many<DeveloperChangeDto> buffer = Sinks.many().unicast()
+                    .onBackpressureBuffer(Queues.<DeveloperChangeDto>get(properties.bufferSize()).get());
+            Disposable live = changes.asFlux()
+                    .subscribe(change -> {
+                        if (buffer.tryEmitNext(change).isFailure()) {
+                            buffer.tryEmitComplete();
+                        }
+                    });
+
+            ChangeOffsets seen = new ChangeOffsets(afterOffset == null ? -1 : afterOffset - properties.replayWindow(),
+                    properties.replayWindow());
+            Flux<DeveloperChangeDto> missed = afterOffset == null ?
+                    Flux.empty() :
+                    changeRepository.findAllByIdGreaterThanOrderById(seen.readFrom()).map(mapper::toDto);
+            return Flux.concat(missed, buffer.asFlux())
+                    .filter(change -> seen.markDelivered(change.offset()))
+                    .doFinally(signal -> live.dispose());
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.changes.cleanup-interval:PT1H}")
+    public Mono<Void> deleteExpired() {
+        return changeRepository.deleteAllChangedBefore(OffsetDateTime.now().minus(properties.retention()))
+                .then();
+    }
+
+    private Flux<DeveloperChangeDto> listen() {
+        return Mono.from(unpooled().create())
+                .cast(PostgresqlConnection.class)
+                .flatMapMany(connection -> startOffsets()
+                        .then(connection.createStatement("LISTEN " + CHANNEL)
+                                .execute()
+                                .flatMap(PostgresqlResult::getRowsUpdated)
+                                .then())
+                        .thenMany(connection.getNotifications()
+                                .map(notification -> Boolean.TRUE)
+                                .startWith(Boolean.TRUE))
+                        .onBackpressureLatest()
+                        .concatMap(wakeUp -> readChanges(), 1)
+                        .doFinally(signal -> Mono.from(connection.close()).subscribe()))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(Duration.ofSeconds(30))
+                        .doBeforeRetry(signal -> log.warn("Reconnecting developer change feed", signal.failure())));
+    }
+
+    /**
+     * Live changes start at the end of the log when the feed first connects. Reading it before {@code LISTEN}
+     * lets the first wake-up deliver changes committed in between.
+     */
+    private Mono<Void> startOffsets() {
+        return Mono.defer(() -> delivered != null ?
+                Mono.empty() :
+                changeRepository.findLastOffset()
+                        .doOnNext(offset -> delivered = new ChangeOffsets(offset, properties.replayWindow()))
+                        .then());
+    }
+
+    private Flux<DeveloperChangeDto> readChanges() {
+        return Flux.defer(() -> changeRepository.findAllByIdGreaterThanOrderById(delivered.readFrom())
+                .filter(change -> delivered.markDelivered(change.getId()))
+                .map(mapper::toDto));
+    }
+
+    private ConnectionFactory unpooled() {
+        ConnectionFactory unpooled = connectionFactory;
+        while (unpooled instanceof Wrapped<?> wrapped && wrapped.unwrap() instanceof ConnectionFactory target) {
+            unpooled = target;
+        }
+        return unpooled;
+    }
+}
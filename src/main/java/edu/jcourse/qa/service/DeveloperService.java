@@ -1,11 +1,85 @@
 package edu.jcourse.qa.service;
 
+import edu.jcourse.qa.dto.BatchResultDto;
+import edu.jcourse.qa.dto.DeveloperChangeDto;
 import edu.jcourse.qa.dto.DeveloperDto;
+import edu.jcourse.qa.dto.DeveloperMatchDto;
+import edu.jcourse.qa.dto.DeveloperStatsDto;
+import edu.jcourse.qa.dto.ImportResultDto;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 public interface DeveloperService extends Service<DeveloperDto, Long> {
+    /**
+     * Creates the developer once per {@code idempotencyKey}; a repeated key returns the first response.
+     *
+     * @return created developer, or empty when the email is already taken
+     */
+    Mono<DeveloperDto> save(DeveloperDto developerDto, String idempotencyKey);
+
     Mono<DeveloperDto> findByEmail(String email);
 
     Flux<DeveloperDto> findAllActiveBySpecialty(String specialty);
+
+    Flux<DeveloperDto> findAllActiveBySpecialty(String specialty, long afterId, int limit);
+
+    /**
+     * @param includeDeleted whether soft-deleted and archived developers are read too, bypassing the cache
+     */
+    Mono<DeveloperDto> findById(Long id, boolean includeDeleted);
+
+    /**
+     * @param includeDeleted whether soft-deleted and archived developers are streamed too, archived ones last
+     */
+    Flux<DeveloperDto> findAll(boolean includeDeleted);
+
+    /**
+     * @param includeDeleted whether soft-deleted and archived developers are read too
+     */
+    Flux<DeveloperDto> findAll(long afterId, int limit, boolean includeDeleted);
+
+    /**
+     * Looks up every active id concurrently, so the lookups missing the cache are merged into batched queries.
+     * Including deleted developers reads all ids from the database in one query per table instead.
+     *
+     * @return found developers in the order of {@code ids}
+     */
+    Flux<DeveloperDto> findAllById(List<Long> ids, boolean includeDeleted);
+
+    /**
+     * @return headcount per speciality and status, refreshed shortly after every write
+     */
+    Mono<DeveloperStatsDto> findStats();
+
+    Flux<DeveloperMatchDto> search(String query, float afterScore, long afterId, int limit);
+
+    Mono<DeveloperDto> patch(Long id, DeveloperDto developerDto);
+
+    Mono<Boolean> softDeleteById(Long id, long version);
+
+    Mono<Boolean> hardDeleteById(Long id, long version);
+
+    /**
+     * Brings a soft-deleted developer back to {@code ACTIVE}, from the archive if it was already moved there.
+     *
+     * @return restored developer, the developer as is when already {@code ACTIVE}, or empty when no developer
+     * has the id
+     */
+    Mono<DeveloperDto> restore(Long id);
+
+    Flux<DeveloperChangeDto> findChanges(Long afterOffset);
+
+    Flux<BatchResultDto> saveAll(Flux<DeveloperDto> developers);
+
+    Flux<BatchResultDto> updateAll(Flux<DeveloperDto> developers);
+
+    Flux<BatchResultDto> deleteAll(Flux<Long> ids, boolean force);
+
+    /**
+     * Writes the developers in chunks as they arrive: rows with an id update that developer,
+     * rows without one are created unless the email is taken.
+     */
+    Mono<ImportResultDto> importAll(Flux<DeveloperDto> developers);
 }
\ No newline at end of file
@@ -1,26 +1,63 @@
 package edu.jcourse.qa.service;
 
+import edu.jcourse.qa.cache.DeveloperCache;
+import edu.jcourse.qa.config.DataSourceRoute;
+import edu.jcourse.qa.dto.BatchResultDto;
+import edu.jcourse.qa.dto.BatchResultDto.Outcome;
+import edu.jcourse.qa.dto.DeveloperChangeDto;
 import edu.jcourse.qa.dto.DeveloperDto;
+import edu.jcourse.qa.dto.DeveloperMatchDto;
+import edu.jcourse.qa.dto.DeveloperStatsDto;
+import edu.jcourse.qa.dto.ImportResultDto;
+import edu.jcourse.qa.entity.Developer;
 import edu.jcourse.qa.entity.Status;
 import edu.jcourse.qa.exception.ApiException;
 import edu.jcourse.qa.mapper.DeveloperMapper;
-import edu.jcourse.qa.repository.DeveloperRepository;
+import edu.jcourse.qa.repository.DeveloperArchiveRepository;
+import edu.jcourse.qa.repository.DeveloperStore;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class DeveloperServiceImpl implements DeveloperService {
 
-    private final DeveloperRepository developerRepository;
+    private static final int MIN_SEARCH_LENGTH = 3;
+    private static final Comparator<Developer> BY_ID = Comparator.comparing(Developer::getId);
+
+    private final DeveloperStore developerRepository;
+    private final DeveloperArchiveRepository archiveRepository;
+    private final DeveloperCache developerCache;
+    private final DeveloperChangeFeed developerChangeFeed;
+    private final DeveloperStatsSnapshot developerStatsSnapshot;
+    private final IdempotencyStore idempotencyStore;
     private final DeveloperMapper mapper;
+    @Value("${app.batch.chunk-size:500}")
+    private final int batchChunkSize;
 
     @Override
     public Mono<DeveloperDto> findByEmail(String email) {
-        return developerRepository.findByEmail(email)
+        return developerCache.findByEmail(email)
                 .map(mapper::toDto);
     }
 
@@ -30,49 +67,341 @@ public class DeveloperServiceImpl implements DeveloperService {
                 .map(mapper::toDto);
     }
 
+    @Override
+    public Flux<DeveloperDto> findAllActiveBySpecialty(String specialty, long afterId, int limit) {
+        return developerRepository.findAllActiveBySpeciality(specialty, afterId, limit)
+                .map(mapper::toDto);
+    }
+
+    /**
+     * A taken email completes empty instead of failing on the unique constraint.
+     */
     @Override
     public Mono<DeveloperDto> save(DeveloperDto developerDto) {
-        return developerRepository.save(mapper.toEntity(developerDto))
+        return developerRepository.insertAll(List.of(mapper.toEntity(developerDto)))
+                .next()
+                .doOnNext(developer -> developerCache.evict(developer.getId()))
                 .map(mapper::toDto);
     }
 
+    @Override
+    public Mono<DeveloperDto> save(DeveloperDto developerDto, String idempotencyKey) {
+        String requestHash = IdempotencyStore.requestHash(developerDto.email(), developerDto.firstName(),
+                developerDto.lastName(), developerDto.speciality(), developerDto.status());
+        return idempotencyStore.execute(idempotencyKey, requestHash, DeveloperDto.class, save(developerDto));
+    }
+
     @Override
     public Mono<DeveloperDto> update(Long id, DeveloperDto developerDto) {
         return developerRepository.findById(id)
+                // read-modify-write: a lagging replica would merge into a stale version
+                .contextWrite(DataSourceRoute::primary)
+                .filter(entity -> entity.getStatus() != Status.DELETED)
                 .map(entity -> mapper.copyDtoToEntity(developerDto, entity))
                 .flatMap(developerRepository::save)
+                .onErrorMap(OptimisticLockingFailureException.class, e -> concurrentModification())
+                .doOnNext(developer -> developerCache.evict(developer.getId()))
                 .map(mapper::toDto);
     }
 
     @Override
-    public Mono<DeveloperDto> findById(Long id) {
-        return developerRepository.findById(id)
+    public Mono<DeveloperDto> patch(Long id, DeveloperDto developerDto) {
+        return developerRepository.patch(id, mapper.toEntity(developerDto))
+                .switchIfEmpty(Mono.defer(() -> conflictIfActive(id, developerDto.version())))
+                .doOnNext(developer -> developerCache.evict(developer.getId()))
                 .map(mapper::toDto);
     }
 
+    @Override
+    public Mono<DeveloperDto> findById(Long id) {
+        return findById(id, false);
+    }
+
+    /**
+     * The hot table is read before the archive, so a developer archived in between is still found.
+     */
+    @Override
+    public Mono<DeveloperDto> findById(Long id, boolean includeDeleted) {
+        Mono<Developer> developer = includeDeleted ?
+                developerRepository.findById(id).switchIfEmpty(Mono.defer(() -> archiveRepository.findById(id))) :
+                developerCache.findById(id);
+        return developer.map(mapper::toDto);
+    }
+
     @Override
     public Flux<DeveloperDto> findAll() {
-        return developerRepository.findAll()
+        return findAll(false);
+    }
+
+    @Override
+    public Flux<DeveloperDto> findAll(boolean includeDeleted) {
+        Flux<Developer> developers = includeDeleted ?
+                Flux.concat(developerRepository.streamAll(), archiveRepository.streamAll()) :
+                developerRepository.streamAllActive();
+        return developers.map(mapper::toDto);
+    }
+
+    @Override
+    public Flux<DeveloperDto> findAll(long afterId, int limit, boolean includeDeleted) {
+        Flux<Developer> developers = includeDeleted ?
+                Flux.mergeComparing(BY_ID,
+                                developerRepository.findAllAfter(afterId, limit),
+                                archiveRepository.findAllAfter(afterId, limit))
+                        .take(limit) :
+                developerRepository.findAllActiveAfter(afterId, limit);
+        return developers.map(mapper::toDto);
+    }
+
+    @Override
+    public Flux<DeveloperDto> findAllById(List<Long> ids, boolean includeDeleted) {
+        if (!includeDeleted) {
+            return Flux.fromIterable(ids)
+                    .distinct()
+                    .flatMapSequential(this::findById, Math.max(1, ids.size()));
+        }
+        Long[] distinctIds = ids.stream().distinct().toArray(Long[]::new);
+        return developerRepository.findAllByIds(distinctIds)
+                .concatWith(archiveRepository.findAllByIds(distinctIds))
+                .collectMap(Developer::getId)
+                .flatMapIterable(found -> Arrays.stream(distinctIds)
+                        .map(found::get)
+                        .filter(Objects::nonNull)
+                        .toList())
                 .map(mapper::toDto);
     }
 
+    @Override
+    public Mono<DeveloperStatsDto> findStats() {
+        return developerStatsSnapshot.get();
+    }
+
+    @Override
+    public Flux<DeveloperMatchDto> search(String query, float afterScore, long afterId, int limit) {
+        String normalized = query == null ? "" : query.strip().toLowerCase(Locale.ROOT);
+        if (normalized.length() < MIN_SEARCH_LENGTH) {
+            return Flux.error(new ApiException(HttpStatus.BAD_REQUEST,
+                    "Search query must contain at least " + MIN_SEARCH_LENGTH + " characters"));
+        }
+        return developerRepository.search(normalized, afterScore, afterId, limit)
+                .map(match -> new DeveloperMatchDto(mapper.toDto(match.getT1()), match.getT2()));
+    }
+
     @Override
     public Mono<Boolean> softDeleteById(Long id) {
-        return developerRepository.findById(id)
-                .flatMap(entity -> {
-                    entity.setStatus(Status.DELETED);
-                    return developerRepository.save(entity)
-                            .thenReturn(true);
-                })
-                .defaultIfEmpty(false);
+        return developerRepository.softDeleteById(id)
+                .map(updated -> updated > 0)
+                .doOnNext(deleted -> developerCache.evict(id));
     }
 
     @Override
     public Mono<Boolean> hardDeleteById(Long id) {
-        return developerRepository.findById(id)
-                .flatMap(entity ->
-                        developerRepository.delete(entity)
-                                .thenReturn(true))
-                .defaultIfEmpty(false);
+        return developerRepository.hardDeleteById(id)
+                .map(deleted -> deleted > 0)
+                .doOnNext(deleted -> developerCache.evict(id));
+    }
+
+    @Override
+    public Mono<Boolean> softDeleteById(Long id, long version) {
+        return developerRepository.softDeleteByIdAndVersion(id, version)
+                .flatMap(updated -> updated > 0 ?
+                        Mono.just(true) :
+                        conflictIfExists(id, version).thenReturn(false))
+                .doOnNext(deleted -> developerCache.evict(id));
+    }
+
+    @Override
+    public Mono<Boolean> hardDeleteById(Long id, long version) {
+        return developerRepository.hardDeleteByIdAndVersion(id, version)
+                .flatMap(deleted -> deleted > 0 ?
+                        Mono.just(true) :
+                        conflictIfExists(id, version).thenReturn(false))
+                .doOnNext(deleted -> developerCache.evict(id));
+    }
+
+    /**
+     * A developer still in the hot table is flipped back in place; an archived one is moved back unless its
+     * email has been taken by another developer since.
+     */
+    @Override
+    public Mono<DeveloperDto> restore(Long id) {
+        return developerRepository.restoreById(id)
+                .switchIfEmpty(Mono.defer(() -> developerRepository.findById(id)
+                        .contextWrite(DataSourceRoute::primary)
+                        .filter(developer -> developer.getStatus() == Status.ACTIVE)))
+                .switchIfEmpty(Mono.defer(() -> archiveRepository.restore(id)))
+                .switchIfEmpty(Mono.defer(() -> archiveRepository.existsById(id)
+                        .filter(Boolean::booleanValue)
+                        .flatMap(archived -> Mono.<Developer>error(new ApiException(HttpStatus.CONFLICT,
+                                "Developer email is taken by another developer")))))
+                .doOnNext(developer -> developerCache.evict(developer.getId()))
+                .map(mapper::toDto);
+    }
+
+    @Override
+    public Flux<DeveloperChangeDto> findChanges(Long afterOffset) {
+        return developerChangeFeed.subscribe(afterOffset);
+    }
+
+    @Override
+    public Flux<BatchResultDto> saveAll(Flux<DeveloperDto> developers) {
+        return developers.buffer(batchChunkSize)
+                .concatMap(chunk -> isolateFailures(chunk, this::saveChunk));
+    }
+
+    @Override
+    public Flux<BatchResultDto> updateAll(Flux<DeveloperDto> developers) {
+        return developers.buffer(batchChunkSize)
+                .concatMap(chunk -> isolateFailures(chunk, this::updateChunk));
+    }
+
+    @Override
+    public Flux<BatchResultDto> deleteAll(Flux<Long> ids, boolean force) {
+        return ids.buffer(batchChunkSize)
+                .concatMap(chunk -> deleteChunk(chunk, force));
+    }
+
+    @Override
+    public Mono<ImportResultDto> importAll(Flux<DeveloperDto> developers) {
+        return developers.buffer(batchChunkSize)
+                .concatMap(this::importChunk)
+                .collect(() -> new EnumMap<Outcome, Long>(Outcome.class),
+                        (outcomes, result) -> outcomes.merge(result.outcome(), 1L, Long::sum))
+                .map(outcomes -> new ImportResultDto(outcomes.values().stream().mapToLong(Long::longValue).sum(),
+                        outcomes));
+    }
+
+    private Flux<BatchResultDto> importChunk(List<DeveloperDto> chunk) {
+        Map<Boolean, List<DeveloperDto>> byId = chunk.stream()
+                .collect(Collectors.partitioningBy(dto -> dto.id() != null));
+        return isolateFailures(byId.get(true), this::updateChunk)
+                .concatWith(isolateFailures(byId.get(false), this::saveChunk));
+    }
+
+    /**
+     * A chunk rejected by a constraint is written again one row at a time, so only the offending rows fail.
+     * Any other error reports the whole chunk as failed and the stream goes on with the next one.
+     */
+    private Flux<BatchResultDto> isolateFailures(List<DeveloperDto> chunk,
+                                                 Function<List<DeveloperDto>, Flux<BatchResultDto>> write) {
+        return write.apply(chunk)
+                .onErrorResume(DataIntegrityViolationException.class, e -> chunk.size() > 1 ?
+                        Flux.fromIterable(chunk).concatMap(dto -> isolateFailures(List.of(dto), write)) :
+                        Flux.just(new BatchResultDto(chunk.getFirst().id(), chunk.getFirst().email(),
+                                e instanceof DuplicateKeyException ? Outcome.CONFLICT : Outcome.INVALID)))
+                .onErrorResume(e -> {
+                    log.warn("Batch chunk of {} developers failed", chunk.size(), e);
+                    return Flux.fromIterable(chunk)
+                            .map(dto -> new BatchResultDto(dto.id(), dto.email(), Outcome.FAILED));
+                });
+    }
+
+    private Flux<BatchResultDto> saveChunk(List<DeveloperDto> chunk) {
+        List<Developer> developers = chunk.stream()
+                .filter(this::isComplete)
+                .map(mapper::toEntity)
+                .toList();
+        return developerRepository.insertAll(developers)
+                .collectMap(Developer::getEmail, Developer::getId)
+                .flatMapIterable(inserted -> chunk.stream()
+                        .map(dto -> {
+                            if (!isComplete(dto)) {
+                                return new BatchResultDto(dto.id(), dto.email(), Outcome.INVALID);
+                            }
+                            Long id = inserted.remove(dto.email());
+                            return id == null ?
+                                    new BatchResultDto(null, dto.email(), Outcome.CONFLICT) :
+                                    new BatchResultDto(id, dto.email(), Outcome.CREATED);
+                        })
+                        .toList());
+    }
+
+    /**
+     * Rows the batch statement skipped are reported as {@code CONFLICT} when they carried a version and are still
+     * active, otherwise as {@code NOT_FOUND}.
+     */
+    private Flux<BatchResultDto> updateChunk(List<DeveloperDto> chunk) {
+        List<Developer> developers = chunk.stream()
+                .filter(dto -> dto.id() != null)
+                .map(mapper::toEntity)
+                .toList();
+        return developerRepository.updateAll(developers)
+                .doOnNext(developer -> developerCache.evict(developer.getId()))
+                .map(Developer::getId)
+                .collect(Collectors.toSet())
+                .flatMapMany(updated -> findStale(developers, updated)
+                        .flatMapIterable(stale -> chunk.stream()
+                                .map(dto -> {
+                                    if (dto.id() == null) {
+                                        return new BatchResultDto(null, dto.email(), Outcome.INVALID);
+                                    }
+                                    Outcome outcome = updated.contains(dto.id()) ? Outcome.UPDATED :
+                                            stale.contains(dto.id()) ? Outcome.CONFLICT : Outcome.NOT_FOUND;
+                                    return new BatchResultDto(dto.id(), dto.email(), outcome);
+                                })
+                                .toList()));
+    }
+
+    /**
+     * @return ids of versioned developers that were not updated although they are still active
+     */
+    private Mono<Set<Long>> findStale(List<Developer> developers, Set<Long> updated) {
+        Long[] versioned = developers.stream()
+                .filter(developer -> developer.getVersion() != null && !updated.contains(developer.getId()))
+                .map(Developer::getId)
+                .toArray(Long[]::new);
+        if (versioned.length == 0) {
+            return Mono.just(Set.of());
+        }
+        return developerRepository.findAllByIds(versioned)
+                .contextWrite(DataSourceRoute::primary)
+                .filter(developer -> developer.getStatus() != Status.DELETED)
+                .map(Developer::getId)
+                .collect(Collectors.toSet());
+    }
+
+    private Flux<BatchResultDto> deleteChunk(List<Long> chunk, boolean force) {
+        Long[] ids = chunk.toArray(Long[]::new);
+        Flux<Long> deletedIds = force ?
+                developerRepository.hardDeleteAllById(ids) :
+                developerRepository.softDeleteAllById(ids);
+        return deletedIds
+                .doOnNext(developerCache::evict)
+                .collect(Collectors.toSet())
+                .flatMapIterable(deleted -> chunk.stream()
+                        .map(id -> new BatchResultDto(id, null,
+                                deleted.contains(id) ? Outcome.DELETED : Outcome.NOT_FOUND))
+                        .toList())
+                .onErrorResume(e -> {
+                    log.warn("Batch chunk of {} deletes failed", chunk.size(), e);
+                    return Flux.fromIterable(chunk)
+                            .map(id -> new BatchResultDto(id, null, Outcome.FAILED));
+                });
+    }
+
+    private Mono<Developer> conflictIfExists(Long id, Long version) {
+        return version == null ? Mono.empty() : conflictIf(developerRepository.existsById(id));
+    }
+
+    /**
+     * Like {@link #conflictIfExists}, but a soft-deleted developer counts as missing rather than modified.
+     */
+    private Mono<Developer> conflictIfActive(Long id, Long version) {
+        return version == null ? Mono.empty() : conflictIf(developerRepository.existsActiveById(id));
+    }
+
+    private Mono<Developer> conflictIf(Mono<Boolean> exists) {
+        return exists.filter(Boolean::booleanValue)
+                .flatMap(found -> Mono.error(concurrentModification()));
+    }
+
+    private ApiException concurrentModification() {
+        return new ApiException(HttpStatus.CONFLICT, "Developer was modified concurrently");
+    }
+
+    private boolean isComplete(DeveloperDto dto) {
+        return dto.email() != null
+               && dto.firstName() != null
+               && dto.lastName() != null
+               && dto.speciality() != null;
     }
 }
\ No newline at end of file
@@ -0,0 +1,99 @@
+package edu.jcourse.qa.service;
+
+import edu.jcourse.qa.dto.DeveloperStatsDto;
+import edu.jcourse.qa.dto.DeveloperStatsDto.SpecialityStats;
+import edu.jcourse.qa.entity.Status;
+import edu.jcourse.qa.repository.DeveloperStatsRepository;
+import edu.jcourse.qa.repository.DeveloperStatsRepository.Headcount;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps developer statistics in memory, so reading them costs nothing per request.
+ * <p>
+ * The snapshot is reloaded from the {@code developer_stats} rollup whenever the change feed reports writes,
+ * at most once per {@code app.stats.refresh-interval}. Falling behind the feed completes the subscription,
+ * which only costs one extra reload before subscribing again, as every reload reads the whole rollup.
+ * The snapshot is also reloaded every {@code app.stats.max-age}, so a change the feed missed is not kept
+ * until the next write.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DeveloperStatsSnapshot {
+
+    private final DeveloperStatsRepository statsRepository;
+    private final DeveloperChangeFeed developerChangeFeed;
+    @Value("${app.stats.refresh-interval:1s}")
+    private final Duration refreshInterval;
+    @Value("${app.stats.max-age:1m}")
+    private final Duration maxAge;
+    private volatile DeveloperStatsDto snapshot;
+    private Disposable refreshing;
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void start() {
+        refreshing = Flux.defer(() -> developerChangeFeed.subscribe(null)
+                        .map(change -> Boolean.TRUE)
+                        .concatWith(Mono.just(Boolean.TRUE)))
+                .repeatWhen(resubscriptions -> resubscriptions.delayElements(refreshInterval))
+                .mergeWith(Flux.interval(maxAge).map(tick -> Boolean.TRUE))
+                .startWith(Boolean.TRUE)
+                .sample(refreshInterval)
+                .onBackpressureLatest()
+                .concatMap(refresh -> reload()
+                        .onErrorResume(e -> {
+                            log.warn("Developer stats reload failed", e);
+                            return Mono.empty();
+                        }), 1)
+                .subscribe(null, e -> log.error("Developer stats refresh stopped", e));
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (refreshing != null) {
+            refreshing.dispose();
+        }
+    }
+
+    public Mono<DeveloperStatsDto> get() {
+        DeveloperStatsDto current = snapshot;
+        return current != null ? Mono.just(current) : reload();
+    }
+
+    private Mono<DeveloperStatsDto> reload() {
+        return statsRepository.findAll()
+                .collectList()
+                .map(DeveloperStatsSnapshot::toDto)
+                .doOnNext(stats -> snapshot = stats);
+    }
+
+    private static DeveloperStatsDto toDto(List<Headcount> headcounts) {
+        Map<Status, Long> total = new EnumMap<>(Status.class);
+        List<SpecialityStats> specialities = new ArrayList<>();
+        SpecialityStats current = null;
+        for (Headcount headcount : headcounts) {
+            if (current == null || !current.speciality().equals(headcount.speciality())) {
+                current = new SpecialityStats(headcount.speciality(), new EnumMap<>(Status.class));
+                specialities.add(current);
+            }
+            current.headcount().put(headcount.status(), headcount.headcount());
+            total.merge(headcount.status(), headcount.headcount(), Long::sum);
+        }
+        return new DeveloperStatsDto(total, specialities);
+    }
+}
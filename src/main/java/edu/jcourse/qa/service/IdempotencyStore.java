@@ -0,0 +1,98 @@
+package edu.jcourse.qa.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import edu.jcourse.qa.config.IdempotencyProperties;
+import edu.jcourse.qa.entity.IdempotencyRecord;
+import edu.jcourse.qa.exception.ApiException;
+import edu.jcourse.qa.repository.IdempotencyRecordRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.OffsetDateTime;
+import java.util.HexFormat;
+import java.util.Objects;
+
+/**
+ * Remembers completed responses by {@code Idempotency-Key} in a bounded cache backed by the
+ * {@code idempotency_record} table, so a retried request gets the original response instead of running again.
+ */
+@Component
+public class IdempotencyStore {
+
+    private final IdempotencyRecordRepository repository;
+    private final IdempotencyProperties properties;
+    private final ObjectMapper objectMapper;
+    private final AsyncCache<String, IdempotencyRecord> records;
+
+    public IdempotencyStore(IdempotencyRecordRepository repository,
+                            IdempotencyProperties properties,
+                            ObjectMapper objectMapper,
+                            ObjectProvider<MeterRegistry> meterRegistry) {
+        this.repository = repository;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.records = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.retention())
+                .recordStats()
+                .buildAsync();
+        meterRegistry.ifAvailable(registry ->
+                CaffeineCacheMetrics.monitor(registry, records.synchronous(), "idempotencyRecords"));
+    }
+
+    /**
+     * @param requestHash fingerprint of the request, see {@link #requestHash(Object...)}
+     * @param action      executed only when the key has no stored response
+     * @return stored or fresh response, empty when {@code action} completes empty
+     */
+    public <T> Mono<T> execute(String key, String requestHash, Class<T> type, Mono<T> action) {
+        return Mono.fromFuture(records.get(key, (k, executor) ->
+                        findOrExecute(k, requestHash, action).toFuture()), true)
+                .flatMap(record -> toResponse(record, requestHash, type));
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.cleanup-interval:PT1H}")
+    public Mono<Void> deleteExpired() {
+        return repository.deleteAllCreatedBefore(OffsetDateTime.now().minus(properties.retention()))
+                .then();
+    }
+
+    public static String requestHash(Object... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Object part : parts) {
+                digest.update(Objects.toString(part, "").getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private <T> Mono<IdempotencyRecord> findOrExecute(String key, String requestHash, Mono<T> action) {
+        return repository.findById(key)
+                .switchIfEmpty(Mono.defer(() -> action
+                        .flatMap(result -> Mono.fromCallable(() -> objectMapper.writeValueAsString(result)))
+                        .flatMap(response -> repository.insert(key, requestHash, response))
+                        .switchIfEmpty(Mono.defer(() -> repository.findById(key)))));
+    }
+
+    private <T> Mono<T> toResponse(IdempotencyRecord record, String requestHash, Class<T> type) {
+        if (!record.getRequestHash().equals(requestHash)) {
+            return Mono.error(new ApiException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Idempotency-Key was already used for a different request"));
+        }
+        return Mono.fromCallable(() -> objectMapper.readValue(record.getResponse(), type));
+    }
+}
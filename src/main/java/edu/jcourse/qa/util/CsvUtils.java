@@ -0,0 +1,98 @@
+package edu.jcourse.qa.util;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.http.MediaType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads and writes single RFC 4180 rows. Values are quoted only when they contain a separator, a quote
+ * or a line break; {@code null} is written as an empty value.
+ */
+@UtilityClass
+public class CsvUtils {
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+    public static final MediaType TEXT_CSV = MediaType.parseMediaType(TEXT_CSV_VALUE);
+
+    private static final char SEPARATOR = ',';
+    private static final char QUOTE = '"';
+
+    /**
+     * Appends the values followed by a line break.
+     */
+    public void appendRow(StringBuilder row, List<?> values) {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                row.append(SEPARATOR);
+            }
+            Object value = values.get(i);
+            if (value != null) {
+                appendValue(row, value.toString());
+            }
+        }
+        row.append('\n');
+    }
+
+    /**
+     * @param line one row without its line break
+     * @throws IllegalArgumentException when a quoted value is not closed
+     */
+    public List<String> parseRow(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != QUOTE) {
+                    value.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == QUOTE) {
+                    value.append(QUOTE);
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == QUOTE) {
+                quoted = true;
+            } else if (c == SEPARATOR) {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted value");
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    private void appendValue(StringBuilder row, String value) {
+        if (!needsQuotes(value)) {
+            row.append(value);
+            return;
+        }
+        row.append(QUOTE);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == QUOTE) {
+                row.append(QUOTE);
+            }
+            row.append(c);
+        }
+        row.append(QUOTE);
+    }
+
+    private boolean needsQuotes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == SEPARATOR || c == QUOTE || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,80 @@
+package edu.jcourse.qa.util;
+
+import edu.jcourse.qa.exception.ApiException;
+import lombok.experimental.UtilityClass;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes keyset positions as opaque, url-safe cursors so clients never depend on the raw id.
+ */
+@UtilityClass
+public class CursorUtils {
+
+    private static final String PREFIX = "id:";
+    private static final String RANKED_PREFIX = "score:";
+
+    public String encode(long id) {
+        return encode(PREFIX + id);
+    }
+
+    public long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String value = decodeValue(cursor, PREFIX);
+            return Long.parseLong(value);
+        } catch (IllegalArgumentException e) {
+            throw invalidCursor();
+        }
+    }
+
+    public String encode(float score, long id) {
+        return encode(RANKED_PREFIX + score + ":" + id);
+    }
+
+    public RankedPosition decodeRanked(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return RankedPosition.FIRST;
+        }
+        try {
+            String value = decodeValue(cursor, RANKED_PREFIX);
+            int separator = value.lastIndexOf(':');
+            return new RankedPosition(Float.parseFloat(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw invalidCursor();
+        }
+    }
+
+    private String encode(String value) {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String decodeValue(String cursor, String prefix) {
+        String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        if (!value.startsWith(prefix)) {
+            throw new IllegalArgumentException(value);
+        }
+        return value.substring(prefix.length());
+    }
+
+    private ApiException invalidCursor() {
+        return new ApiException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+    }
+
+    /**
+     * Position in a result ordered by score descending, then id ascending.
+     */
+    public record RankedPosition(float score, long id) {
+        /**
+         * Position before every result, as scores never exceed 1.
+         */
+        public static final RankedPosition FIRST = new RankedPosition(Float.MAX_VALUE, 0L);
+    }
+}
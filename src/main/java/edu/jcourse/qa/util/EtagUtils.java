@@ -0,0 +1,55 @@
+package edu.jcourse.qa.util;
+
+import edu.jcourse.qa.dto.DeveloperDto;
+import edu.jcourse.qa.exception.ApiException;
+import lombok.experimental.UtilityClass;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+
+/**
+ * Derives entity tags from the row version, so conditional requests are validated without serializing the body.
+ */
+@UtilityClass
+public class EtagUtils {
+
+    private static final String ANY = "*";
+
+    /**
+     * @return strong tag of a single developer, or {@code null} when its version is unknown
+     */
+    public String of(DeveloperDto developerDto) {
+        return developerDto.version() == null ? null : "\"" + developerDto.version() + "\"";
+    }
+
+    /**
+     * @return weak tag combining ids and versions of a page of developers with the cursor of the next page,
+     * which is {@code null} on the last page
+     */
+    public String of(List<DeveloperDto> developers, String nextCursor) {
+        long hash = nextCursor == null ? 1 : nextCursor.hashCode();
+        for (DeveloperDto developer : developers) {
+            hash = 31 * hash + (developer.id() == null ? 0 : developer.id());
+            hash = 31 * hash + (developer.version() == null ? 0 : developer.version());
+        }
+        return "W/\"" + Long.toHexString(hash) + "\"";
+    }
+
+    /**
+     * @return version expected by an {@code If-Match} header, or {@code null} when any version matches
+     */
+    public Long parseVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ANY.equals(ifMatch.trim())) {
+            return null;
+        }
+        String etag = ifMatch.trim();
+        if (etag.length() > 2 && etag.startsWith("\"") && etag.endsWith("\"")) {
+            try {
+                return Long.parseLong(etag.substring(1, etag.length() - 1));
+            } catch (NumberFormatException ignored) {
+                // an unknown tag can never match, handled below
+            }
+        }
+        throw new ApiException(HttpStatus.PRECONDITION_FAILED, "Developer version does not match");
+    }
+}
@@ -0,0 +1,4 @@
+-- Built without blocking writes, so it cannot run inside a transaction.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS developer_deleted_at_idx
+    ON developer (deleted_at)
+    WHERE status = 'DELETED';
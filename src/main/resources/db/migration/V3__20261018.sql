@@ -0,0 +1,3 @@
+CREATE INDEX IF NOT EXISTS developer_active_speciality_idx
+    ON developer (lower(speciality), id)
+    WHERE status = 'ACTIVE';
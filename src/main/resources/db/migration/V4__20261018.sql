@@ -0,0 +1,62 @@
+CREATE TABLE IF NOT EXISTS developer_change
+(
+    id           BIGSERIAL PRIMARY KEY,
+    developer_id BIGINT      NOT NULL,
+    type         VARCHAR(32) NOT NULL,
+    changed_at   TIMESTAMPTZ NOT NULL DEFAULT now(),
+    check (type IN ('CREATED', 'UPDATED', 'SOFT_DELETED', 'HARD_DELETED'))
+);
+
+CREATE INDEX IF NOT EXISTS developer_change_changed_at_idx
+    ON developer_change (changed_at);
+
+-- Statement level, so bulk writes append their changes with one INSERT and send one wake-up notification.
+CREATE OR REPLACE FUNCTION developer_change_log() RETURNS TRIGGER AS
+$$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO developer_change (developer_id, type)
+        SELECT id, 'CREATED'
+        FROM new_rows
+        ORDER BY id;
+    ELSIF TG_OP = 'UPDATE' THEN
+        INSERT INTO developer_change (developer_id, type)
+        SELECT n.id,
+               CASE WHEN o.status = 'ACTIVE' AND n.status = 'DELETED' THEN 'SOFT_DELETED' ELSE 'UPDATED' END
+        FROM new_rows n
+                 JOIN old_rows o ON o.id = n.id
+        ORDER BY n.id;
+    ELSE
+        INSERT INTO developer_change (developer_id, type)
+        SELECT id, 'HARD_DELETED'
+        FROM old_rows
+        ORDER BY id;
+    END IF;
+
+    IF FOUND THEN
+        PERFORM pg_notify('developer_changes', '');
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER developer_change_insert
+    AFTER INSERT
+    ON developer
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION developer_change_log();
+
+CREATE TRIGGER developer_change_update
+    AFTER UPDATE
+    ON developer
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION developer_change_log();
+
+CREATE TRIGGER developer_change_delete
+    AFTER DELETE
+    ON developer
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION developer_change_log();
@@ -0,0 +1,5 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS developer_active_search_trgm_idx
+    ON developer USING GIN (lower(first_name || ' ' || last_name || ' ' || email) gin_trgm_ops)
+    WHERE status = 'ACTIVE';
@@ -0,0 +1,10 @@
+CREATE TABLE IF NOT EXISTS idempotency_record
+(
+    idempotency_key VARCHAR(255) PRIMARY KEY,
+    request_hash    VARCHAR(64) NOT NULL,
+    response        TEXT        NOT NULL,
+    created_at      TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idempotency_record_created_at_idx
+    ON idempotency_record (created_at);
@@ -0,0 +1,70 @@
+CREATE TABLE IF NOT EXISTS developer_stats
+(
+    speciality VARCHAR(255) NOT NULL,
+    status     VARCHAR(255) NOT NULL,
+    headcount  BIGINT       NOT NULL,
+    PRIMARY KEY (speciality, status)
+);
+
+INSERT INTO developer_stats (speciality, status, headcount)
+SELECT speciality, status, count(*)
+FROM developer
+GROUP BY speciality, status
+ON CONFLICT (speciality, status) DO UPDATE SET headcount = excluded.headcount;
+
+-- Statement level, so a bulk write adds one delta per speciality and status instead of one per row.
+-- Deltas are applied in key order to keep concurrent writers from deadlocking on the counter rows.
+CREATE OR REPLACE FUNCTION developer_stats_apply() RETURNS TRIGGER AS
+$$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO developer_stats (speciality, status, headcount)
+        SELECT speciality, status, count(*)
+        FROM new_rows
+        GROUP BY speciality, status
+        ORDER BY speciality, status
+        ON CONFLICT (speciality, status) DO UPDATE SET headcount = developer_stats.headcount + excluded.headcount;
+    ELSIF TG_OP = 'UPDATE' THEN
+        INSERT INTO developer_stats (speciality, status, headcount)
+        SELECT speciality, status, sum(delta)
+        FROM (SELECT speciality, status, 1 AS delta
+              FROM new_rows
+              UNION ALL
+              SELECT speciality, status, -1
+              FROM old_rows) deltas
+        GROUP BY speciality, status
+        HAVING sum(delta) <> 0
+        ORDER BY speciality, status
+        ON CONFLICT (speciality, status) DO UPDATE SET headcount = developer_stats.headcount + excluded.headcount;
+    ELSE
+        INSERT INTO developer_stats (speciality, status, headcount)
+        SELECT speciality, status, -count(*)
+        FROM old_rows
+        GROUP BY speciality, status
+        ORDER BY speciality, status
+        ON CONFLICT (speciality, status) DO UPDATE SET headcount = developer_stats.headcount + excluded.headcount;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER developer_stats_insert
+    AFTER INSERT
+    ON developer
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION developer_stats_apply();
+
+CREATE TRIGGER developer_stats_update
+    AFTER UPDATE
+    ON developer
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION developer_stats_apply();
+
+CREATE TRIGGER developer_stats_delete
+    AFTER DELETE
+    ON developer
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION developer_stats_apply();
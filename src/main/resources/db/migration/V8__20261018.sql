@@ -0,0 +1,128 @@
+ALTER TABLE developer
+    ADD COLUMN IF NOT EXISTS deleted_at TIMESTAMPTZ;
+
+-- Row level and BEFORE, so every write path stamps the time a developer left the ACTIVE status.
+CREATE OR REPLACE FUNCTION developer_deleted_at() RETURNS TRIGGER AS
+$$
+BEGIN
+    IF NEW.status <> 'DELETED' THEN
+        NEW.deleted_at = NULL;
+    ELSIF TG_OP = 'INSERT' OR OLD.status <> 'DELETED' THEN
+        NEW.deleted_at = COALESCE(NEW.deleted_at, now());
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER developer_deleted_at
+    BEFORE INSERT OR UPDATE OF status
+    ON developer
+    FOR EACH ROW
+EXECUTE FUNCTION developer_deleted_at();
+
+-- Soft-deleted developers past their retention. Ids are kept, so a restored developer comes back unchanged.
+-- Emails are not unique here: an archived email may be taken again and archived again.
+CREATE TABLE IF NOT EXISTS developer_archive
+(
+    id          BIGINT PRIMARY KEY,
+    email       VARCHAR(255) NOT NULL,
+    first_name  VARCHAR(255) NOT NULL,
+    last_name   VARCHAR(255) NOT NULL,
+    speciality  VARCHAR(255) NOT NULL,
+    status      VARCHAR(255) NOT NULL DEFAULT 'DELETED',
+    version     BIGINT       NOT NULL,
+    deleted_at  TIMESTAMPTZ  NOT NULL,
+    archived_at TIMESTAMPTZ  NOT NULL DEFAULT now(),
+    check (status = 'DELETED')
+);
+
+ALTER TABLE developer_change
+    DROP CONSTRAINT IF EXISTS developer_change_type_check,
+    ADD CONSTRAINT developer_change_type_check
+        check (type IN ('CREATED', 'UPDATED', 'SOFT_DELETED', 'HARD_DELETED', 'ARCHIVED', 'RESTORED'));
+
+-- Moving a row between developer and developer_archive sets app.developer_change_type for its transaction,
+-- so subscribers see ARCHIVED and RESTORED instead of a hard delete and a create. Backfills set BACKFILL
+-- and are not reported.
+CREATE OR REPLACE FUNCTION developer_change_log() RETURNS TRIGGER AS
+$$
+DECLARE
+    move_type VARCHAR(32) := NULLIF(current_setting('app.developer_change_type', true), '');
+BEGIN
+    IF move_type = 'BACKFILL' THEN
+        RETURN NULL;
+    ELSIF TG_OP = 'INSERT' THEN
+        INSERT INTO developer_change (developer_id, type)
+        SELECT id, COALESCE(move_type, 'CREATED')
+        FROM new_rows
+        ORDER BY id;
+    ELSIF TG_OP = 'UPDATE' THEN
+        INSERT INTO developer_change (developer_id, type)
+        SELECT n.id,
+               CASE
+                   WHEN o.status = 'ACTIVE' AND n.status = 'DELETED' THEN 'SOFT_DELETED'
+                   WHEN o.status = 'DELETED' AND n.status = 'ACTIVE' THEN 'RESTORED'
+                   ELSE 'UPDATED'
+                   END
+        FROM new_rows n
+                 JOIN old_rows o ON o.id = n.id
+        ORDER BY n.id;
+    ELSE
+        INSERT INTO developer_change (developer_id, type)
+        SELECT id, COALESCE(move_type, 'HARD_DELETED')
+        FROM old_rows
+        ORDER BY id;
+    END IF;
+
+    IF FOUND THEN
+        PERFORM pg_notify('developer_changes', '');
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- An archived developer is still counted as DELETED, so archiving leaves the counters as they are and
+-- restoring from the archive moves the developer from DELETED to its new status.
+CREATE OR REPLACE FUNCTION developer_stats_apply() RETURNS TRIGGER AS
+$$
+DECLARE
+    move_type VARCHAR(32) := NULLIF(current_setting('app.developer_change_type', true), '');
+BEGIN
+    IF move_type IN ('ARCHIVED', 'BACKFILL') THEN
+        RETURN NULL;
+    ELSIF TG_OP = 'INSERT' THEN
+        INSERT INTO developer_stats (speciality, status, headcount)
+        SELECT speciality, status, sum(delta)
+        FROM (SELECT speciality, status, 1 AS delta
+              FROM new_rows
+              UNION ALL
+              SELECT speciality, 'DELETED', -1
+              FROM new_rows
+              WHERE move_type = 'RESTORED') deltas
+        GROUP BY speciality, status
+        HAVING sum(delta) <> 0
+        ORDER BY speciality, status
+        ON CONFLICT (speciality, status) DO UPDATE SET headcount = developer_stats.headcount + excluded.headcount;
+    ELSIF TG_OP = 'UPDATE' THEN
+        INSERT INTO developer_stats (speciality, status, headcount)
+        SELECT speciality, status, sum(delta)
+        FROM (SELECT speciality, status, 1 AS delta
+              FROM new_rows
+              UNION ALL
+              SELECT speciality, status, -1
+              FROM old_rows) deltas
+        GROUP BY speciality, status
+        HAVING sum(delta) <> 0
+        ORDER BY speciality, status
+        ON CONFLICT (speciality, status) DO UPDATE SET headcount = developer_stats.headcount + excluded.headcount;
+    ELSE
+        INSERT INTO developer_stats (speciality, status, headcount)
+        SELECT speciality, status, -count(*)
+        FROM old_rows
+        GROUP BY speciality, status
+        ORDER BY speciality, status
+        ON CONFLICT (speciality, status) DO UPDATE SET headcount = developer_stats.headcount + excluded.headcount;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
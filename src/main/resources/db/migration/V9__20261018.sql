@@ -0,0 +1,23 @@
+-- Rows deleted before V8 start their retention now. Every batch commits on its own, so the backfill
+-- never locks the deleted rows all at once, and BACKFILL keeps it out of the change log.
+DO
+$$
+DECLARE
+    updated INT;
+BEGIN
+    LOOP
+        PERFORM set_config('app.developer_change_type', 'BACKFILL', true);
+        UPDATE developer
+        SET deleted_at = now()
+        WHERE status = 'DELETED'
+          AND deleted_at IS NULL
+          AND id IN (SELECT id
+                     FROM developer
+                     WHERE status = 'DELETED' AND deleted_at IS NULL
+                     LIMIT 10000);
+        GET DIAGNOSTICS updated = ROW_COUNT;
+        COMMIT;
+        EXIT WHEN updated = 0;
+    END LOOP;
+END;
+$$;
@@ -0,0 +1,152 @@
+package edu.jcourse.qa.cache;
+
+import edu.jcourse.qa.config.BatchLoaderProperties;
+import edu.jcourse.qa.config.DataSourceRoute;
+import edu.jcourse.qa.config.ReplicaProperties;
+import edu.jcourse.qa.entity.Developer;
+import edu.jcourse.qa.entity.Status;
+import edu.jcourse.qa.repository.DeveloperStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.ObjectProvider;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class DeveloperBatchLoaderTests {
+    private static final ReplicaProperties REPLICA_PROPERTIES = new ReplicaProperties(false, null, null, null,
+            new ReplicaProperties.Pool(5, 20, Duration.ofSeconds(2)),
+            Duration.ofSeconds(1), Duration.ofSeconds(1), Duration.ofSeconds(2));
+
+    private DeveloperStore developerRepository;
+    private MeterRegistry registry;
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        developerRepository = mock(DeveloperStore.class);
+        registry = new SimpleMeterRegistry();
+        meterRegistry = mock(ObjectProvider.class);
+        doReturn(registry).when(meterRegistry).getIfAvailable(any());
+        doAnswer(invocation -> Flux.fromArray(invocation.<Long[]>getArgument(0))
+                .filter(id -> id != 404L)
+                .map(this::buildDeveloper))
+                .when(developerRepository).findAllByIds(any());
+    }
+
+    @Test
+    @DisplayName("Test concurrent loads within window share one query functionality")
+    void loadWhenConcurrent() {
+        DeveloperBatchLoader batchLoader = buildBatchLoader(Duration.ofMillis(50), 100);
+
+        List<Developer> developers = Flux.just(1L, 2L, 404L, 3L, 1L)
+                .flatMapSequential(batchLoader::load)
+                .collectList()
+                .block();
+
+        assertThat(developers).extracting(Developer::getId).containsExactly(1L, 2L, 3L, 1L);
+        ArgumentCaptor<Long[]> ids = ArgumentCaptor.forClass(Long[].class);
+        verify(developerRepository).findAllByIds(ids.capture());
+        assertThat(ids.getValue()).containsExactlyInAnyOrder(1L, 2L, 404L, 3L);
+        assertThat(registry.get("app.batch.loader.size").summary().totalAmount()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Test full batch is sent before window ends functionality")
+    void loadWhenBatchFull() {
+        DeveloperBatchLoader batchLoader = buildBatchLoader(Duration.ofMinutes(1), 2);
+
+        StepVerifier.create(Flux.just(1L, 2L, 3L, 4L).flatMap(batchLoader::load))
+                .expectNextCount(4)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        ArgumentCaptor<Long[]> ids = ArgumentCaptor.forClass(Long[].class);
+        verify(developerRepository, times(2)).findAllByIds(ids.capture());
+        assertThat(ids.getAllValues()).allSatisfy(batch -> assertThat(batch).hasSize(2));
+    }
+
+    @Test
+    @DisplayName("Test loads needing the primary are batched apart from replica reads functionality")
+    void loadWhenRoutesDiffer() {
+        Map<Long, DataSourceRoute.Target> targets = new ConcurrentHashMap<>();
+        doAnswer(invocation -> Flux.deferContextual(context -> {
+            DataSourceRoute.Target target = DataSourceRoute.target(context, Duration.ofSeconds(2));
+            return Flux.fromArray(invocation.<Long[]>getArgument(0))
+                    .doOnNext(id -> targets.put(id, target))
+                    .map(this::buildDeveloper);
+        })).when(developerRepository).findAllByIds(any());
+        DeveloperBatchLoader batchLoader = buildBatchLoader(Duration.ofMillis(50), 100);
+
+        StepVerifier.create(Mono.zip(
+                        batchLoader.load(1L),
+                        batchLoader.load(2L).contextWrite(DataSourceRoute::primary),
+                        Mono.deferContextual(context -> {
+                                    DataSourceRoute.markWrite(context);
+                                    return batchLoader.load(3L);
+                                })
+                                .contextWrite(DataSourceRoute::trackWrites)))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        verify(developerRepository, times(2)).findAllByIds(any());
+        assertThat(targets).containsExactlyInAnyOrderEntriesOf(Map.of(
+                1L, DataSourceRoute.Target.REPLICA,
+                2L, DataSourceRoute.Target.PRIMARY,
+                3L, DataSourceRoute.Target.PRIMARY));
+    }
+
+    @Test
+    @DisplayName("Test query failure is passed to every caller functionality")
+    void loadWhenQueryFails() {
+        doReturn(Flux.error(new IllegalStateException("down"))).when(developerRepository).findAllByIds(any());
+        DeveloperBatchLoader batchLoader = buildBatchLoader(Duration.ofMillis(10), 100);
+
+        StepVerifier.create(Mono.zip(batchLoader.load(1L), batchLoader.load(2L)))
+                .expectErrorMessage("down")
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Test disabled loader queries by id functionality")
+    void loadWhenDisabled() {
+        doReturn(Mono.just(buildDeveloper(1L))).when(developerRepository).findById(1L);
+        DeveloperBatchLoader batchLoader = new DeveloperBatchLoader(developerRepository,
+                new BatchLoaderProperties(false, Duration.ofMillis(10), 100), REPLICA_PROPERTIES, meterRegistry);
+
+        StepVerifier.create(batchLoader.load(1L))
+                .expectNextCount(1)
+                .verifyComplete();
+        verify(developerRepository, never()).findAllByIds(any());
+    }
+
+    private DeveloperBatchLoader buildBatchLoader(Duration window, int maxSize) {
+        return new DeveloperBatchLoader(developerRepository, new BatchLoaderProperties(true, window, maxSize),
+                REPLICA_PROPERTIES, meterRegistry);
+    }
+
+    private Developer buildDeveloper(Long id) {
+        return Developer.builder()
+                .id(id)
+                .email("email" + id)
+                .firstName("firstName")
+                .lastName("lastName")
+                .speciality("speciality")
+                .status(Status.ACTIVE)
+                .build();
+    }
+}
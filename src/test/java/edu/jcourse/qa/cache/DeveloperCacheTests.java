@@ -0,0 +1,93 @@
+package edu.jcourse.qa.cache;
+
+import edu.jcourse.qa.config.BatchLoaderProperties;
+import edu.jcourse.qa.config.DeveloperCacheProperties;
+import edu.jcourse.qa.entity.Developer;
+import edu.jcourse.qa.entity.Status;
+import edu.jcourse.qa.repository.DeveloperStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class DeveloperCacheTests {
+    private DeveloperStore developerRepository;
+    private DeveloperCache developerCache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        developerRepository = mock(DeveloperStore.class);
+        ObjectProvider<MeterRegistry> meterRegistry = mock(ObjectProvider.class);
+        doReturn(new SimpleMeterRegistry()).when(meterRegistry).getIfAvailable(any());
+        developerCache = new DeveloperCache(developerRepository,
+                new DeveloperBatchLoader(developerRepository, new BatchLoaderProperties(false, Duration.ZERO, 1),
+                        null, meterRegistry),
+                new DeveloperCacheProperties(100, Duration.ofMinutes(1), Duration.ofSeconds(5)),
+                meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Test concurrent find by id misses share one query functionality")
+    void findByIdWhenConcurrentMisses() {
+        Sinks.One<Developer> result = Sinks.one();
+        doReturn(result.asMono()).when(developerRepository).findById(1L);
+
+        Mono<Developer> first = developerCache.findById(1L);
+        Mono<Developer> second = developerCache.findById(1L);
+        result.tryEmitValue(buildDeveloper(1L, "email"));
+
+        StepVerifier.create(first).expectNextCount(1).verifyComplete();
+        StepVerifier.create(second).expectNextCount(1).verifyComplete();
+        verify(developerRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Test find by id after evict reloads functionality")
+    void findByIdWhenEvicted() {
+        doReturn(Mono.just(buildDeveloper(1L, "email"))).when(developerRepository).findById(1L);
+
+        developerCache.findById(1L).block();
+        developerCache.findById(1L).block();
+        developerCache.evict(1L);
+        developerCache.findById(1L).block();
+
+        verify(developerRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Test find by email when email was changed functionality")
+    void findByEmailWhenEmailChanged() {
+        doReturn(Mono.just(buildDeveloper(1L, "email"))).when(developerRepository).findByEmail("email");
+        doReturn(Mono.just(buildDeveloper(1L, "email"))).when(developerRepository).findById(1L);
+        developerCache.findByEmail("email").block();
+
+        doReturn(Mono.empty()).when(developerRepository).findByEmail("email");
+        doReturn(Mono.just(buildDeveloper(1L, "email2"))).when(developerRepository).findById(1L);
+        developerCache.evict(1L);
+
+        StepVerifier.create(developerCache.findByEmail("email"))
+                .verifyComplete();
+    }
+
+    private Developer buildDeveloper(Long id, String email) {
+        return Developer.builder()
+                .id(id)
+                .email(email)
+                .firstName("firstName")
+                .lastName("lastName")
+                .speciality("speciality")
+                .status(Status.ACTIVE)
+                .build();
+    }
+}
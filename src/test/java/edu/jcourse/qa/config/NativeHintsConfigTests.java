@@ -0,0 +1,42 @@
+package edu.jcourse.qa.config;
+
+import edu.jcourse.qa.dto.DeveloperDto;
+import edu.jcourse.qa.entity.Developer;
+import edu.jcourse.qa.entity.Status;
+import edu.jcourse.qa.repository.DeveloperRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.data.repository.Repository;
+import org.springframework.transaction.interceptor.TransactionalProxy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NativeHintsConfigTests {
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @Test
+    @DisplayName("Test binding reflection hints are registered functionality")
+    void registerBindingHints() {
+        new NativeHintsConfig.DeveloperRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        assertThat(RuntimeHintsPredicates.reflection().onType(DeveloperDto.class)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(Developer.class)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(Status.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("db/migration/V1__20240416.sql")).accepts(hints);
+    }
+
+    @Test
+    @DisplayName("Test repository proxy hint is registered functionality")
+    void registerRepositoryProxyHint() {
+        new NativeHintsConfig.DeveloperRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        assertThat(RuntimeHintsPredicates.proxies().forInterfaces(AopProxyUtils.completeJdkProxyInterfaces(
+                DeveloperRepository.class, Repository.class, TransactionalProxy.class))).accepts(hints);
+    }
+}
@@ -0,0 +1,52 @@
+package edu.jcourse.qa.config;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.Statement;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class RequestTimingTests {
+
+    @Test
+    @DisplayName("Test server timing header lists recorded stages functionality")
+    void toServerTiming() {
+        RequestTiming timing = new RequestTiming(0);
+        timing.record(RequestTiming.Stage.DB, TimeUnit.MICROSECONDS.toNanos(1_234));
+        timing.record(RequestTiming.Stage.DB, TimeUnit.MICROSECONDS.toNanos(1_000));
+        timing.addRows(21);
+        timing.record(RequestTiming.Stage.SER, TimeUnit.MICROSECONDS.toNanos(50));
+
+        assertThat(timing.toServerTiming())
+                .startsWith("db;dur=2.23;desc=\"2 queries, 21 rows\", ser;dur=0.05, total;dur=")
+                .doesNotContain("pool");
+    }
+
+    @Test
+    @DisplayName("Test sampled request records statements with bind shapes functionality")
+    void recordStatements() {
+        RequestTiming timing = new RequestTiming(10);
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        when(connection.createStatement(anyString())).thenReturn(statement);
+        when(statement.bind(anyInt(), any())).thenReturn(statement);
+        doReturn(Flux.empty()).when(statement).execute();
+
+        Connection recording = TimedConnectionFactory.recording(connection, timing);
+        Statement recorded = recording.createStatement("SELECT *\n  FROM developer WHERE id = ANY($1) AND email = $2");
+        StepVerifier.create(Flux.from(recorded.bind(0, new Long[]{1L, 2L}).bind(1, "email").execute()))
+                .verifyComplete();
+
+        assertThat(timing.getStatements()).singleElement().asString()
+                .contains("sql=\"SELECT * FROM developer WHERE id = ANY($1) AND email = $2\"")
+                .contains("binds=[$1=Long[2], $2=String(5)]");
+        verify(statement).bind(0, new Long[]{1L, 2L});
+    }
+}
@@ -0,0 +1,172 @@
+package edu.jcourse.qa.integration.repository;
+
+import edu.jcourse.qa.config.PostgreTestcontainerConfig;
+import edu.jcourse.qa.entity.Developer;
+import edu.jcourse.qa.repository.DeveloperArchiveRepository;
+import edu.jcourse.qa.repository.DeveloperRepository;
+import edu.jcourse.qa.repository.DeveloperSql;
+import edu.jcourse.qa.repository.DeveloperStatsRepository;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.util.function.Tuple2;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Import(PostgreTestcontainerConfig.class)
+@RequiredArgsConstructor
+class DeveloperRepositoryIT {
+    private static final int SEED_SIZE = 200_000;
+
+    private final DeveloperRepository developerRepository;
+    private final DatabaseClient databaseClient;
+    private final DeveloperStatsRepository developerStatsRepository;
+    private final DeveloperArchiveRepository developerArchiveRepository;
+
+    @BeforeEach
+    public void setUp() {
+        developerRepository.deleteAll().block();
+        databaseClient.sql("""
+                        INSERT INTO developer (email, first_name, last_name, speciality, status)
+                        SELECT 'email' || i, 'firstName', 'lastName', 'Speciality' || (i % 1000),
+                               CASE WHEN i % 2 = 0 THEN 'ACTIVE' ELSE 'DELETED' END
+                        FROM generate_series(1, :size) AS i""")
+                .bind("size", SEED_SIZE)
+                .then()
+                .then(databaseClient.sql("ANALYZE developer").then())
+                .block();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        developerRepository.deleteAll().block();
+        databaseClient.sql("DELETE FROM developer_archive").then()
+                .then(databaseClient.sql("DELETE FROM developer_stats").then())
+                .block();
+    }
+
+    @Test
+    @DisplayName("Test find all active by speciality uses partial index functionality")
+    void findAllActiveBySpecialityUsesIndex() {
+        String plan = databaseClient.sql("EXPLAIN " + DeveloperSql.FIND_ACTIVE_BY_SPECIALITY_PAGE)
+                .bind("speciality", "SPECIALITY10")
+                .bind("afterId", 0L)
+                .bind("limit", 101)
+                .map(row -> row.get(0, String.class))
+                .all()
+                .collect(Collectors.joining("\n"))
+                .block();
+
+        assertThat(plan).contains("developer_active_speciality_idx");
+    }
+
+    @Test
+    @DisplayName("Test find all active by speciality ignores case functionality")
+    void findAllActiveBySpecialityIgnoresCase() {
+        Long count = developerRepository.findAllActiveBySpeciality("SPECIALITY10", 0L, 1000)
+                .count()
+                .block();
+
+        assertThat(count).isEqualTo(SEED_SIZE / 1000);
+    }
+
+    @Test
+    @DisplayName("Test search uses trigram index functionality")
+    void searchUsesTrigramIndex() {
+        String plan = databaseClient.sql("EXPLAIN " + DeveloperSql.SEARCH)
+                .bind("query", "email1234")
+                .bind("afterScore", Float.MAX_VALUE)
+                .bind("afterId", 0L)
+                .bind("limit", 10)
+                .map(row -> row.get(0, String.class))
+                .all()
+                .collect(Collectors.joining("\n"))
+                .block();
+
+        assertThat(plan).contains("developer_active_search_trgm_idx");
+    }
+
+    @Test
+    @DisplayName("Test search ranks closest matches first functionality")
+    void searchRanksClosestMatchesFirst() {
+        List<Tuple2<Developer, Float>> matches = developerRepository
+                .search("email12344", Float.MAX_VALUE, 0L, 10)
+                .collectList()
+                .block();
+
+        assertThat(matches).isNotEmpty();
+        assertThat(matches.getFirst().getT1().getEmail()).isEqualTo("email12344");
+        assertThat(matches).isSortedAccordingTo((left, right) -> Float.compare(right.getT2(), left.getT2()));
+    }
+
+    @Test
+    @DisplayName("Test archival scan uses deleted at partial index functionality")
+    void archivalScanUsesIndex() {
+        String plan = databaseClient.sql("EXPLAIN " + DeveloperArchiveRepository.ARCHIVE_SQL)
+                .bind("before", OffsetDateTime.now())
+                .bind("limit", 500)
+                .map(row -> row.get(0, String.class))
+                .all()
+                .collect(Collectors.joining("\n"))
+                .block();
+
+        assertThat(plan).contains("developer_deleted_at_idx");
+    }
+
+    @Test
+    @DisplayName("Test archive moves one chunk of deleted developers functionality")
+    void archiveMovesOneChunk() {
+        Long archived = developerArchiveRepository.archiveDeletedBefore(OffsetDateTime.now().plusMinutes(1), 1000)
+                .block();
+        Long deletedLeft = databaseClient.sql("SELECT count(*) FROM developer WHERE status = 'DELETED'")
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .block();
+
+        assertThat(archived).isEqualTo(1000);
+        assertThat(deletedLeft).isEqualTo(SEED_SIZE / 2 - 1000);
+        assertThat(developerArchiveRepository.findAllAfter(0L, SEED_SIZE).count().block()).isEqualTo(1000);
+    }
+
+    @Test
+    @DisplayName("Test stats rollup follows writes and archive moves functionality")
+    void statsRollupFollowsWrites() {
+        databaseClient.sql("UPDATE developer SET speciality = 'Moved' WHERE id % 7 = 0")
+                .then()
+                .then(databaseClient.sql("UPDATE developer SET status = 'ACTIVE' WHERE id % 5 = 0").then())
+                .then(databaseClient.sql("DELETE FROM developer WHERE id % 3 = 0").then())
+                .then(developerArchiveRepository.archiveDeletedBefore(OffsetDateTime.now().plusMinutes(1), 1000))
+                .flatMap(archived -> databaseClient.sql("SELECT min(id) FROM developer_archive")
+                        .map(row -> row.get(0, Long.class))
+                        .one())
+                .flatMap(developerArchiveRepository::restore)
+                .block();
+
+        String expected = databaseClient.sql("""
+                        SELECT string_agg(speciality || ':' || status || ':' || headcount, ',' ORDER BY speciality, status)
+                        FROM (SELECT speciality, status, count(*) AS headcount
+                              FROM (SELECT speciality, status FROM developer
+                                    UNION ALL
+                                    SELECT speciality, status FROM developer_archive) developers
+                              GROUP BY speciality, status) counts""")
+                .map(row -> row.get(0, String.class))
+                .one()
+                .block();
+        String rollup = developerStatsRepository.findAll()
+                .map(headcount -> headcount.speciality() + ':' + headcount.status() + ':' + headcount.headcount())
+                .collect(Collectors.joining(","))
+                .block();
+
+        assertThat(rollup).isEqualTo(expected);
+    }
+}
@@ -0,0 +1,108 @@
+package edu.jcourse.qa.integration.repository;
+
+import edu.jcourse.qa.config.PostgreTestcontainerConfig;
+import edu.jcourse.qa.entity.Developer;
+import edu.jcourse.qa.entity.Status;
+import edu.jcourse.qa.repository.DeveloperStore;
+import edu.jcourse.qa.repository.JdbcDeveloperRepository;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "app.repository.mode=jdbc")
+@Import(PostgreTestcontainerConfig.class)
+@RequiredArgsConstructor
+class JdbcDeveloperRepositoryIT {
+
+    private final DeveloperStore developerRepository;
+
+    @BeforeEach
+    public void setUp() {
+        developerRepository.deleteAll().block();
+    }
+
+    @Test
+    @DisplayName("Test jdbc mode replaces developer repository functionality")
+    void repositoryIsJdbc() {
+        assertThat(developerRepository).isInstanceOf(JdbcDeveloperRepository.class);
+    }
+
+    @Test
+    @DisplayName("Test save and find developer functionality")
+    void saveAndFindById() {
+        Developer saved = developerRepository.save(buildDeveloper("email")).block();
+
+        assertThat(saved.getId()).isNotNull();
+        assertThat(saved.getVersion()).isZero();
+        StepVerifier.create(developerRepository.findById(saved.getId()))
+                .expectNext(saved)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Test save developer with stale version functionality")
+    void saveWhenStaleVersion() {
+        Developer saved = developerRepository.save(buildDeveloper("email")).block();
+        saved.setVersion(saved.getVersion() + 1);
+
+        StepVerifier.create(developerRepository.save(saved))
+                .expectError(OptimisticLockingFailureException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Test insert all skips existing emails functionality")
+    void insertAllSkipsExisting() {
+        developerRepository.save(buildDeveloper("email")).block();
+
+        StepVerifier.create(developerRepository.insertAll(List.of(buildDeveloper("email"), buildDeveloper("email2"))))
+                .expectNextMatches(developer -> developer.getEmail().equals("email2") && developer.getId() != null)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Test soft delete all by id functionality")
+    void softDeleteAllById() {
+        Developer saved = developerRepository.save(buildDeveloper("email")).block();
+
+        StepVerifier.create(developerRepository.softDeleteAllById(new Long[]{saved.getId(), saved.getId() + 1}))
+                .expectNext(saved.getId())
+                .verifyComplete();
+        StepVerifier.create(developerRepository.findById(saved.getId()))
+                .expectNextMatches(developer -> developer.getStatus() == Status.DELETED && developer.getVersion() == 1)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Test stream all developers across pages functionality")
+    void streamAllAcrossPages() {
+        List<Developer> developers = IntStream.range(0, 600)
+                .mapToObj(i -> buildDeveloper("email" + i))
+                .toList();
+        developerRepository.insertAll(developers).blockLast();
+
+        StepVerifier.create(developerRepository.streamAll())
+                .expectNextCount(600)
+                .verifyComplete();
+    }
+
+    private Developer buildDeveloper(String email) {
+        return Developer.builder()
+                .email(email)
+                .firstName("firstName")
+                .lastName("lastName")
+                .speciality("speciality")
+                .status(Status.ACTIVE)
+                .build();
+    }
+}
@@ -0,0 +1,168 @@
+package edu.jcourse.qa.integration.repository;
+
+import edu.jcourse.qa.config.DataSourceRoute;
+import edu.jcourse.qa.config.PostgreTestcontainerConfig;
+import edu.jcourse.qa.config.ReplicaRoutingConnectionFactory;
+import edu.jcourse.qa.dto.DeveloperDto;
+import edu.jcourse.qa.entity.Developer;
+import edu.jcourse.qa.entity.Status;
+import edu.jcourse.qa.repository.DeveloperRepository;
+import edu.jcourse.qa.service.DeveloperService;
+import io.r2dbc.spi.ConnectionFactory;
+import lombok.RequiredArgsConstructor;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+/**
+ * Runs against two independent Postgres instances, so a row written to only one of them shows which
+ * database served a read.
+ */
+@SpringBootTest(properties = {
+        "app.replica.enabled=true",
+        "app.replica.lag-check-interval=200ms",
+        "app.replica.read-your-writes-window=1m"
+})
+@Import(PostgreTestcontainerConfig.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@RequiredArgsConstructor
+class ReplicaRoutingIT {
+    private static final PostgreSQLContainer<?> REPLICA = new PostgreSQLContainer<>("postgres:16.2");
+
+    private final DeveloperRepository developerRepository;
+    private final DeveloperService developerService;
+    private final ConnectionFactory connectionFactory;
+
+    @DynamicPropertySource
+    static void replicaProperties(DynamicPropertyRegistry registry) {
+        REPLICA.start();
+        Flyway.configure()
+                .dataSource(REPLICA.getJdbcUrl(), REPLICA.getUsername(), REPLICA.getPassword())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+        registry.add("app.replica.url", () -> "r2dbc:postgresql://%s:%d/%s".formatted(REPLICA.getHost(),
+                REPLICA.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT), REPLICA.getDatabaseName()));
+        registry.add("app.replica.username", REPLICA::getUsername);
+        registry.add("app.replica.password", REPLICA::getPassword);
+    }
+
+    @AfterAll
+    static void stopReplica() {
+        REPLICA.stop();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        developerRepository.deleteAll().block();
+        replicaTemplate().delete(Developer.class).all().block();
+        awaitReplicaUsable(true);
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Test find by id is served by replica functionality")
+    void findByIdFromReplica() {
+        Developer onReplica = replicaTemplate().insert(buildDeveloper("replica")).block();
+
+        StepVerifier.create(developerRepository.findById(onReplica.getId()))
+                .expectNextMatches(developer -> developer.getEmail().equals("replica"))
+                .verifyComplete();
+        StepVerifier.create(developerRepository.findByEmail("replica"))
+                .expectNextCount(1)
+                .verifyComplete();
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test writes go to primary functionality")
+    void saveToPrimary() {
+        Developer saved = developerRepository.save(buildDeveloper("primary")).block();
+
+        StepVerifier.create(replicaTemplate().select(Developer.class).all())
+                .verifyComplete();
+        StepVerifier.create(developerRepository.findById(saved.getId()))
+                .verifyComplete();
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test read after write in same request is served by primary functionality")
+    void readYourWrites() {
+        Mono<Developer> request = developerRepository.save(buildDeveloper("primary"))
+                .flatMap(saved -> developerRepository.findById(saved.getId()))
+                .contextWrite(DataSourceRoute::trackWrites);
+
+        StepVerifier.create(request)
+                .expectNextMatches(developer -> developer.getEmail().equals("primary"))
+                .verifyComplete();
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Test update and restore read from primary when replica lacks the row functionality")
+    void writesReadFromPrimary() {
+        Developer saved = developerRepository.save(buildDeveloper("primary")).block();
+        DeveloperDto changes = DeveloperDto.builder()
+                .firstName("changed")
+                .build();
+
+        StepVerifier.create(developerService.update(saved.getId(), changes))
+                .expectNextMatches(developer -> developer.firstName().equals("changed")
+                                                && developer.version() == saved.getVersion() + 1)
+                .verifyComplete();
+        StepVerifier.create(developerService.restore(saved.getId()))
+                .expectNextMatches(developer -> developer.status() == Status.ACTIVE)
+                .verifyComplete();
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Test reads fall back to primary when replica is down functionality")
+    void fallbackWhenReplicaDown() {
+        Developer saved = developerRepository.save(buildDeveloper("primary")).block();
+        REPLICA.stop();
+        awaitReplicaUsable(false);
+
+        StepVerifier.create(developerRepository.findById(saved.getId()))
+                .expectNextMatches(developer -> developer.getEmail().equals("primary"))
+                .verifyComplete();
+    }
+
+    private R2dbcEntityTemplate replicaTemplate() {
+        return new R2dbcEntityTemplate(((ReplicaRoutingConnectionFactory) connectionFactory).getReplica());
+    }
+
+    private void awaitReplicaUsable(boolean usable) {
+        ReplicaRoutingConnectionFactory routing = (ReplicaRoutingConnectionFactory) connectionFactory;
+        Mono.fromSupplier(routing::isReplicaUsable)
+                .filter(replicaUsable -> replicaUsable == usable)
+                .repeatWhenEmpty(attempts -> attempts.delayElements(Duration.ofMillis(100)))
+                .block(Duration.ofSeconds(30));
+    }
+
+    private Developer buildDeveloper(String email) {
+        return Developer.builder()
+                .email(email)
+                .firstName("firstName")
+                .lastName("lastName")
+                .speciality("speciality")
+                .status(Status.ACTIVE)
+                .build();
+    }
+}
@@ -1,10 +1,17 @@
 package edu.jcourse.qa.integration.rest;
 
 import edu.jcourse.qa.config.PostgreTestcontainerConfig;
+import edu.jcourse.qa.dto.DeveloperChangeDto;
 import edu.jcourse.qa.dto.DeveloperDto;
+import edu.jcourse.qa.dto.DeveloperStatsDto;
+import edu.jcourse.qa.entity.ChangeType;
 import edu.jcourse.qa.entity.Developer;
 import edu.jcourse.qa.entity.Status;
 import edu.jcourse.qa.repository.DeveloperRepository;
+import edu.jcourse.qa.rest.DeveloperRestControllerV1;
+import edu.jcourse.qa.rest.filter.ServerTimingWebFilter;
+import edu.jcourse.qa.service.DeveloperArchiver;
+import edu.jcourse.qa.util.CsvUtils;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,9 +20,23 @@ import org.junit.jupiter.api.TestInstance;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @AutoConfigureWebTestClient
@@ -26,10 +47,15 @@ class DeveloperRestControllerV1IT {
 
     private final WebTestClient webTestClient;
     private final DeveloperRepository developerRepository;
+    private final DeveloperArchiver developerArchiver;
+    private final DatabaseClient databaseClient;
 
     @BeforeEach
     public void setUp() {
         developerRepository.deleteAll().block();
+        databaseClient.sql("DELETE FROM developer_archive").then()
+                .then(databaseClient.sql("DELETE FROM developer_stats").then())
+                .block();
     }
 
     @Test
@@ -50,6 +76,114 @@ class DeveloperRestControllerV1IT {
                 .jsonPath("$.email").isEqualTo("email");
     }
 
+    @Test
+    @DisplayName("Test batch create developers as ndjson functionality")
+    void createAllWhenSuccess() {
+        developerRepository.save(buildDeveloper("email")).block();
+        String body = """
+                {"email":"email","first_name":"firstName","last_name":"lastName","speciality":"speciality"}
+                {"email":"email2","first_name":"firstName","last_name":"lastName","speciality":"speciality"}
+                {"email":"email3"}
+                """;
+
+        webTestClient
+                .post()
+                .uri("/api/v1/developers/batch")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.size()").isEqualTo(3)
+                .jsonPath("$[0].outcome").isEqualTo("CONFLICT")
+                .jsonPath("$[1].outcome").isEqualTo("CREATED")
+                .jsonPath("$[1].id").isNotEmpty()
+                .jsonPath("$[2].outcome").isEqualTo("INVALID");
+    }
+
+    @Test
+    @DisplayName("Test batch update reports rows after duplicate email functionality")
+    void updateAllWhenDuplicateEmail() {
+        List<Developer> developers = developerRepository.insertAll(List.of(
+                        buildDeveloper("email"), buildDeveloper("email2"), buildDeveloper("email3")))
+                .collectList()
+                .block();
+        String body = """
+                {"id":%d,"first_name":"renamed"}
+                {"id":%d,"email":"email"}
+                {"id":%d,"first_name":"renamed"}
+                """.formatted(developers.get(0).getId(), developers.get(1).getId(), developers.get(2).getId());
+
+        webTestClient
+                .put()
+                .uri("/api/v1/developers/batch")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.size()").isEqualTo(3)
+                .jsonPath("$[0].outcome").isEqualTo("UPDATED")
+                .jsonPath("$[1].outcome").isEqualTo("CONFLICT")
+                .jsonPath("$[2].outcome").isEqualTo("UPDATED");
+
+        StepVerifier.create(developerRepository.findById(developers.get(2).getId()))
+                .expectNextMatches(developer -> developer.getFirstName().equals("renamed")
+                                                && developer.getVersion() == 1)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Test batch update reports stale version as conflict functionality")
+    void updateAllWhenStaleVersion() {
+        List<Developer> developers = developerRepository.insertAll(List.of(
+                        buildDeveloper("email"), buildDeveloper("email2")))
+                .collectList()
+                .block();
+        String body = """
+                {"id":%d,"first_name":"renamed","version":%d}
+                {"id":%d,"first_name":"renamed","version":%d}
+                """.formatted(developers.get(0).getId(), developers.get(0).getVersion(),
+                developers.get(1).getId(), developers.get(1).getVersion() + 1);
+
+        webTestClient
+                .put()
+                .uri("/api/v1/developers/batch")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$[0].outcome").isEqualTo("UPDATED")
+                .jsonPath("$[1].outcome").isEqualTo("CONFLICT");
+
+        StepVerifier.create(developerRepository.findById(developers.get(1).getId()))
+                .expectNextMatches(developer -> developer.getFirstName().equals("firstName")
+                                                && developer.getVersion().equals(developers.get(1).getVersion()))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Test batch delete developers functionality")
+    void deleteAllWhenSuccess() {
+        Developer developer = developerRepository.save(buildDeveloper("email")).block();
+
+        webTestClient
+                .method(HttpMethod.DELETE)
+                .uri("/api/v1/developers/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(developer.getId(), developer.getId() + 1))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$[0].outcome").isEqualTo("DELETED")
+                .jsonPath("$[1].outcome").isEqualTo("NOT_FOUND");
+    }
+
     @Test
     @DisplayName("Test update developer when success functionality")
     void updateWhenSuccess() {
@@ -88,6 +222,82 @@ class DeveloperRestControllerV1IT {
                 .jsonPath("$.errors[0].message").isEqualTo("Developer not found");
     }
 
+    @Test
+    @DisplayName("Test patch developer when success functionality")
+    void patchWhenSuccess() {
+        Developer developer = developerRepository.save(buildDeveloper()).block();
+
+        webTestClient
+                .patch()
+                .uri("/api/v1/developers/{id}", developer.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(DeveloperDto.builder().speciality("speciality2").version(developer.getVersion()).build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.email").isEqualTo("email")
+                .jsonPath("$.speciality").isEqualTo("speciality2")
+                .jsonPath("$.version").isEqualTo(developer.getVersion() + 1);
+    }
+
+    @Test
+    @DisplayName("Test patch developer when version is stale functionality")
+    void patchWhenStaleVersion() {
+        Developer developer = developerRepository.save(buildDeveloper()).block();
+
+        webTestClient
+                .patch()
+                .uri("/api/v1/developers/{id}", developer.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(DeveloperDto.builder().speciality("speciality2").version(developer.getVersion() + 1).build())
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT)
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.errors[0].status").isEqualTo(HttpStatus.CONFLICT.value());
+    }
+
+    @Test
+    @DisplayName("Test update developer when if-match is stale functionality")
+    void updateWhenPreconditionFailed() {
+        Developer developer = developerRepository.save(buildDeveloper()).block();
+        String etag = webTestClient
+                .get()
+                .uri("/api/v1/developers/{id}", developer.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(DeveloperDto.class)
+                .getResponseHeaders()
+                .getETag();
+
+        webTestClient
+                .get()
+                .uri("/api/v1/developers/{id}", developer.getId())
+                .ifNoneMatch(etag)
+                .exchange()
+                .expectStatus().isNotModified();
+
+        webTestClient
+                .put()
+                .uri("/api/v1/developers/{id}", developer.getId())
+                .ifMatch(etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(buildDeveloperDto(developer.getId(), "email2"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().value(HttpHeaders.ETAG, value -> assertThat(value).isNotEqualTo(etag));
+
+        webTestClient
+                .put()
+                .uri("/api/v1/developers/{id}", developer.getId())
+                .ifMatch(etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(buildDeveloperDto(developer.getId(), "email3"))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+    }
+
     @Test
     @DisplayName("Test find all developers when success functionality")
     void findAllWhenSuccess() {
@@ -105,6 +315,379 @@ class DeveloperRestControllerV1IT {
                 .jsonPath("$[0].email").isEqualTo("email");
     }
 
+    @Test
+    @DisplayName("Test find all developers without server timing by default functionality")
+    void findAllWithoutServerTiming() {
+        webTestClient
+                .get()
+                .uri("/api/v1/developers")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(ServerTimingWebFilter.SERVER_TIMING_HEADER);
+    }
+
+    @Test
+    @DisplayName("Test find all developers as smile functionality")
+    void findAllAsSmile() {
+        developerRepository.save(buildDeveloper()).block();
+
+        webTestClient
+                .get()
+                .uri("/api/v1/developers")
+                .accept(MediaType.valueOf("application/x-jackson-smile"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType("application/x-jackson-smile")
+                .expectBodyList(DeveloperDto.class)
+                .consumeWith(System.out::println)
+                .value(developers -> assertThat(developers)
+                        .singleElement()
+                        .extracting(DeveloperDto::email)
+                        .isEqualTo("email"));
+    }
+
+    @Test
+    @DisplayName("Test create and find developer as cbor functionality")
+    void createAndFindByIdAsCbor() {
+        DeveloperDto created = webTestClient
+                .post()
+                .uri("/api/v1/developers")
+                .contentType(MediaType.APPLICATION_CBOR)
+                .accept(MediaType.APPLICATION_CBOR)
+                .bodyValue(buildDeveloperDto(null, "email"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().contentType(MediaType.APPLICATION_CBOR)
+                .expectBody(DeveloperDto.class)
+                .returnResult()
+                .getResponseBody();
+
+        webTestClient
+                .get()
+                .uri("/api/v1/developers/{id}", created.id())
+                .accept(MediaType.APPLICATION_CBOR)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(DeveloperDto.class)
+                .consumeWith(System.out::println)
+                .isEqualTo(created);
+    }
+
+    @Test
+    @DisplayName("Test streaming batch as cbor is not acceptable functionality")
+    void createAllWhenCborRequested() {
+        webTestClient
+                .post()
+                .uri("/api/v1/developers/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_CBOR)
+                .bodyValue(List.of(buildDeveloperDto(null, "email")))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.NOT_ACCEPTABLE)
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.errors[0].message").isEqualTo("Streaming responses are not available as application/cbor");
+
+        StepVerifier.create(developerRepository.findByEmail("email"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Test find all developers compressed above threshold functionality")
+    void findAllCompressedAboveThreshold() {
+        developerRepository.save(buildDeveloper()).block();
+        webTestClient
+                .get()
+                .uri("/api/v1/developers")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(HttpHeaders.CONTENT_ENCODING);
+
+        developerRepository.insertAll(IntStream.range(0, 50)
+                        .mapToObj(i -> buildDeveloper("email" + i))
+                        .toList())
+                .blockLast();
+
+        webTestClient
+                .get()
+                .uri("/api/v1/developers")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.CONTENT_ENCODING, "gzip");
+    }
+
+    @Test
+    @DisplayName("Test export developers as csv functionality")
+    void exportAsCsv() {
+        Developer saved = developerRepository.save(buildDeveloper()).block();
+
+        webTestClient
+                .get()
+                .uri("/api/v1/developers/export")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(CsvUtils.TEXT_CSV)
+                .expectBody(String.class)
+                .consumeWith(System.out::println)
+                .isEqualTo("""
+                        id,email,first_name,last_name,speciality,status,version
+                        %d,email,firstName,lastName,speciality,ACTIVE,0
+                        """.formatted(saved.getId()));
+    }
+
+    @Test
+    @DisplayName("Test export developers as ndjson functionality")
+    void exportAsNdjson() {
+        developerRepository.save(buildDeveloper()).block();
+
+        webTestClient
+                .get()
+                .uri("/api/v1/developers/export")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(DeveloperDto.class)
+                .hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Test import developers from csv functionality")
+    void importFromCsv() {
+        Developer existing = developerRepository.save(buildDeveloper("email")).block();
+        String body = """
+                id,email,first_name,last_name,speciality
+                %d,email,corrected,lastName,speciality
+                ,email2,firstName,lastName,speciality
+                ,email,firstName,lastName,speciality
+                ,email3
+                """.formatted(existing.getId());
+
+        webTestClient
+                .post()
+                .uri("/api/v1/developers/import")
+                .contentType(CsvUtils.TEXT_CSV)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.rows").isEqualTo(4)
+                .jsonPath("$.outcomes.UPDATED").isEqualTo(1)
+                .jsonPath("$.outcomes.CREATED").isEqualTo(1)
+                .jsonPath("$.outcomes.CONFLICT").isEqualTo(1)
+                .jsonPath("$.outcomes.INVALID").isEqualTo(1);
+
+        StepVerifier.create(developerRepository.findById(existing.getId()))
+                .expectNextMatches(developer -> developer.getFirstName().equals("corrected"))
+                .verifyComplete();
+        StepVerifier.create(developerRepository.findByEmail("email2"))
+                .expectNextCount(1)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Test import developers when update takes an existing email functionality")
+    void importWhenDuplicateEmail() {
+        Developer first = developerRepository.save(buildDeveloper("email")).block();
+        Developer second = developerRepository.save(buildDeveloper("email2")).block();
+        String body = """
+                id,email,first_name,last_name,speciality
+                %d,email2,firstName,lastName,speciality
+                %d,email2,corrected,lastName,speciality
+                ,email3,firstName,lastName,speciality
+                """.formatted(first.getId(), second.getId());
+
+        webTestClient
+                .post()
+                .uri("/api/v1/developers/import")
+                .contentType(CsvUtils.TEXT_CSV)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.rows").isEqualTo(3)
+                .jsonPath("$.outcomes.CONFLICT").isEqualTo(1)
+                .jsonPath("$.outcomes.UPDATED").isEqualTo(1)
+                .jsonPath("$.outcomes.CREATED").isEqualTo(1);
+
+        StepVerifier.create(developerRepository.findById(second.getId()))
+                .expectNextMatches(developer -> developer.getFirstName().equals("corrected"))
+                .verifyComplete();
+        StepVerifier.create(developerRepository.findByEmail("email3"))
+                .expectNextCount(1)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Test find developers by ids functionality")
+    void findAllByIdWhenSuccess() {
+        List<Developer> developers = developerRepository.insertAll(List.of(
+                        buildDeveloper("email"), buildDeveloper("email2"), buildDeveloper("email3")))
+                .collectList()
+                .block();
+        Long first = developers.get(0).getId();
+        Long third = developers.get(2).getId();
+
+        webTestClient
+                .get()
+                .uri("/api/v1/developers?ids={ids}", third + "," + (third + 100) + "," + first)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.size()").isEqualTo(2)
+                .jsonPath("$[0].email").isEqualTo("email3")
+                .jsonPath("$[1].email").isEqualTo("email");
+    }
+
+    @Test
+    @DisplayName("Test find stats after writes functionality")
+    void findStatsAfterWrites() {
+        List<Developer> developers = developerRepository.insertAll(List.of(
+                        buildDeveloper("email"), buildDeveloper("email2"), buildDeveloper("email3")))
+                .collectList()
+                .block();
+        developerRepository.softDeleteById(developers.getFirst().getId()).block();
+
+        Mono.fromCallable(() -> webTestClient
+                        .get()
+                        .uri("/api/v1/developers/stats")
+                        .exchange()
+                        .expectStatus().isOk()
+                        .expectBody(DeveloperStatsDto.class)
+                        .returnResult()
+                        .getResponseBody())
+                .filter(stats -> Map.of(Status.ACTIVE, 2L, Status.DELETED, 1L).equals(stats.headcount()))
+                .repeatWhenEmpty(attempts -> attempts.delayElements(Duration.ofMillis(200)))
+                .as(StepVerifier::create)
+                .expectNextMatches(stats -> stats.specialities().size() == 1
+                                            && stats.specialities().getFirst().speciality().equals("speciality"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Test create developer when email exists functionality")
+    void createWhenEmailExists() {
+        developerRepository.save(buildDeveloper("email")).block();
+
+        webTestClient
+                .post()
+                .uri("/api/v1/developers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(buildDeveloperDto(null, "email"))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.errors[0].message").isEqualTo("Developer already exists");
+    }
+
+    @Test
+    @DisplayName("Test create developer retried with idempotency key functionality")
+    void createWhenRetriedWithIdempotencyKey() {
+        String idempotencyKey = UUID.randomUUID().toString();
+        DeveloperDto developerDto = buildDeveloperDto(null, "email");
+
+        Long id = webTestClient
+                .post()
+                .uri("/api/v1/developers")
+                .header(DeveloperRestControllerV1.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(developerDto)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(DeveloperDto.class)
+                .returnResult()
+                .getResponseBody()
+                .id();
+
+        webTestClient
+                .post()
+                .uri("/api/v1/developers")
+                .header(DeveloperRestControllerV1.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(developerDto)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.id").isEqualTo(id);
+
+        webTestClient
+                .post()
+                .uri("/api/v1/developers")
+                .header(DeveloperRestControllerV1.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(buildDeveloperDto(null, "email2"))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY)
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.errors[0].message").isEqualTo("Idempotency-Key was already used for a different request");
+    }
+
+    @Test
+    @DisplayName("Test find all developers by pages functionality")
+    void findAllByPagesWhenSuccess() {
+        Developer first = developerRepository.save(buildDeveloper("email")).block();
+        Developer second = developerRepository.save(buildDeveloper("email2")).block();
+
+        String nextCursor = webTestClient
+                .get()
+                .uri("/api/v1/developers?limit=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.size()").isEqualTo(1)
+                .jsonPath("$[0].id").isEqualTo(first.getId())
+                .returnResult()
+                .getResponseHeaders()
+                .getFirst(DeveloperRestControllerV1.NEXT_CURSOR_HEADER);
+
+        webTestClient
+                .get()
+                .uri("/api/v1/developers?limit=1&after={after}", nextCursor)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(DeveloperRestControllerV1.NEXT_CURSOR_HEADER)
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.size()").isEqualTo(1)
+                .jsonPath("$[0].id").isEqualTo(second.getId());
+    }
+
+    @Test
+    @DisplayName("Test page etag changes when a next page appears functionality")
+    void findAllByPagesWhenNextPageAppears() {
+        developerRepository.save(buildDeveloper("email")).block();
+        String etag = webTestClient
+                .get()
+                .uri("/api/v1/developers?limit=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                .expectHeader().doesNotExist(DeveloperRestControllerV1.NEXT_CURSOR_HEADER)
+                .returnResult(DeveloperDto.class)
+                .getResponseHeaders()
+                .getETag();
+
+        developerRepository.save(buildDeveloper("email2")).block();
+
+        webTestClient
+                .get()
+                .uri("/api/v1/developers?limit=1")
+                .ifNoneMatch(etag)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(DeveloperRestControllerV1.NEXT_CURSOR_HEADER)
+                .expectHeader().value(HttpHeaders.ETAG, value -> assertThat(value).isNotEqualTo(etag));
+    }
+
     @Test
     @DisplayName("Test hard delete developer when success functionality")
     void deleteHardWhenSuccess() {
@@ -135,6 +718,34 @@ class DeveloperRestControllerV1IT {
                 .consumeWith(System.out::println);
     }
 
+    @Test
+    @DisplayName("Test soft delete developer when already deleted functionality")
+    void deleteSoftWhenAlreadyDeleted() {
+        Developer developer = buildDeveloper();
+        developer.setStatus(Status.DELETED);
+        developerRepository.save(developer).block();
+
+        webTestClient
+                .delete()
+                .uri("/api/v1/developers/{id}", developer.getId())
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .consumeWith(System.out::println);
+    }
+
+    @Test
+    @DisplayName("Test hard delete developer when failure functionality")
+    void deleteHardWhenFailure() {
+        webTestClient
+                .delete()
+                .uri("/api/v1/developers/1?force=true")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .consumeWith(System.out::println);
+    }
+
     @Test
     @DisplayName("Test soft delete developer when failure functionality")
     void deleteSoftWhenFailure() {
@@ -147,6 +758,275 @@ class DeveloperRestControllerV1IT {
                 .consumeWith(System.out::println);
     }
 
+    @Test
+    @DisplayName("Test stream developer changes from offset functionality")
+    void streamChangesWhenSuccess() {
+        Developer developer = developerRepository.save(buildDeveloper()).block();
+
+        webTestClient
+                .get()
+                .uri("/api/v1/developers/changes?after=0")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(DeveloperChangeDto.class)
+                .getResponseBody()
+                .filter(change -> developer.getId().equals(change.developerId()))
+                .as(StepVerifier::create)
+                .expectNextMatches(change -> change.type() == ChangeType.CREATED)
+                .thenCancel()
+                .verify(Duration.ofSeconds(10));
+    }
+
+    @Test
+    @DisplayName("Test prometheus endpoint exposes endpoint and repository timers functionality")
+    void prometheusWhenSuccess() {
+        webTestClient
+                .get()
+                .uri("/api/v1/developers/1")
+                .exchange()
+                .expectStatus().isNotFound();
+
+        webTestClient
+                .get()
+                .uri("/actuator/prometheus")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .value(body -> assertThat(body)
+                        .contains("http_server_requests_seconds_bucket")
+                        .contains("app_repository_invocations_seconds_bucket")
+                        .contains("r2dbc_pool_acquired"));
+    }
+
+    @Test
+    @DisplayName("Test search developers by pages functionality")
+    void searchByPagesWhenSuccess() {
+        Developer exact = developerRepository.save(buildDeveloper("ann@mail.com")).block();
+        Developer partial = developerRepository.save(buildDeveloper("anne@mail.com")).block();
+        developerRepository.save(buildDeveloper("bob@mail.com")).block();
+
+        String nextCursor = webTestClient
+                .get()
+                .uri("/api/v1/developers/search?q=ANN&limit=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.size()").isEqualTo(1)
+                .jsonPath("$[0].id").isEqualTo(exact.getId())
+                .returnResult()
+                .getResponseHeaders()
+                .getFirst(DeveloperRestControllerV1.NEXT_CURSOR_HEADER);
+
+        webTestClient
+                .get()
+                .uri("/api/v1/developers/search?q=ann&limit=1&after={after}", nextCursor)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(DeveloperRestControllerV1.NEXT_CURSOR_HEADER)
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.size()").isEqualTo(1)
+                .jsonPath("$[0].id").isEqualTo(partial.getId());
+    }
+
+    @Test
+    @DisplayName("Test search developers when query is too short functionality")
+    void searchWhenQueryTooShort() {
+        webTestClient
+                .get()
+                .uri("/api/v1/developers/search?q=an")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.errors[0].message").isEqualTo("Search query must contain at least 3 characters");
+    }
+
+    @Test
+    @DisplayName("Test find deleted developer only when deleted are included functionality")
+    void findByIdWhenDeleted() {
+        Developer developer = buildDeveloper();
+        developer.setStatus(Status.DELETED);
+        developerRepository.save(developer).block();
+
+        webTestClient
+                .get()
+                .uri("/api/v1/developers/{id}", developer.getId())
+                .exchange()
+                .expectStatus().isNotFound();
+
+        webTestClient
+                .get()
+                .uri("/api/v1/developers/{id}?includeDeleted=true", developer.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.status").isEqualTo("DELETED");
+
+        webTestClient
+                .get()
+                .uri("/api/v1/developers")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.size()").isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("Test archive and restore deleted developer functionality")
+    void archiveAndRestore() {
+        Developer developer = developerRepository.save(buildDeveloper()).block();
+        developerRepository.softDeleteById(developer.getId()).block();
+
+        StepVerifier.create(developerArchiver.archiveDeletedBefore(OffsetDateTime.now().plusMinutes(1)))
+                .expectNext(1L)
+                .verifyComplete();
+        StepVerifier.create(developerRepository.findById(developer.getId()))
+                .verifyComplete();
+
+        webTestClient
+                .get()
+                .uri("/api/v1/developers?ids={ids}&includeDeleted=true", developer.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.size()").isEqualTo(1)
+                .jsonPath("$[0].status").isEqualTo("DELETED");
+
+        webTestClient
+                .post()
+                .uri("/api/v1/developers/{id}/restore", developer.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.id").isEqualTo(developer.getId())
+                .jsonPath("$.status").isEqualTo("ACTIVE")
+                .jsonPath("$.version").isEqualTo(developer.getVersion() + 2);
+
+        webTestClient
+                .get()
+                .uri("/api/v1/developers/{id}", developer.getId())
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    @DisplayName("Test restore archived developer when email is taken functionality")
+    void restoreWhenEmailTaken() {
+        Developer developer = buildDeveloper();
+        developer.setStatus(Status.DELETED);
+        developerRepository.save(developer).block();
+        developerArchiver.archiveDeletedBefore(OffsetDateTime.now().plusMinutes(1)).block();
+        developerRepository.save(buildDeveloper()).block();
+
+        webTestClient
+                .post()
+                .uri("/api/v1/developers/{id}/restore", developer.getId())
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT)
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.errors[0].status").isEqualTo(HttpStatus.CONFLICT.value());
+
+        webTestClient
+                .get()
+                .uri("/api/v1/developers/{id}?includeDeleted=true", developer.getId())
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    @DisplayName("Test restore active developer returns it unchanged functionality")
+    void restoreWhenActive() {
+        Developer developer = developerRepository.save(buildDeveloper()).block();
+
+        webTestClient
+                .post()
+                .uri("/api/v1/developers/{id}/restore", developer.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.status").isEqualTo("ACTIVE")
+                .jsonPath("$.version").isEqualTo(developer.getVersion());
+    }
+
+    @Test
+    @DisplayName("Test update deleted developer functionality")
+    void updateWhenDeleted() {
+        Developer developer = buildDeveloper();
+        developer.setStatus(Status.DELETED);
+        developerRepository.save(developer).block();
+
+        webTestClient
+                .put()
+                .uri("/api/v1/developers/{id}", developer.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(buildDeveloperDto(developer.getId(), "email"))
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.errors[0].message").isEqualTo("Developer not found");
+
+        StepVerifier.create(developerRepository.findById(developer.getId()))
+                .expectNextMatches(deleted -> deleted.getStatus() == Status.DELETED)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Test patch deleted developer functionality")
+    void patchWhenDeleted() {
+        Developer developer = buildDeveloper();
+        developer.setStatus(Status.DELETED);
+        developerRepository.save(developer).block();
+
+        webTestClient
+                .patch()
+                .uri("/api/v1/developers/{id}", developer.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(DeveloperDto.builder().speciality("speciality2").version(developer.getVersion()).build())
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.errors[0].message").isEqualTo("Developer not found");
+
+        StepVerifier.create(developerRepository.findById(developer.getId()))
+                .expectNextMatches(deleted -> deleted.getStatus() == Status.DELETED
+                                              && deleted.getSpeciality().equals("speciality"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Test batch update deleted developer functionality")
+    void updateAllWhenDeleted() {
+        Developer developer = buildDeveloper();
+        developer.setStatus(Status.DELETED);
+        developerRepository.save(developer).block();
+
+        webTestClient
+                .put()
+                .uri("/api/v1/developers/batch")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue("{\"id\":%d,\"first_name\":\"renamed\"}\n".formatted(developer.getId()))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$[0].outcome").isEqualTo("NOT_FOUND");
+
+        StepVerifier.create(developerRepository.findById(developer.getId()))
+                .expectNextMatches(deleted -> deleted.getStatus() == Status.DELETED
+                                              && deleted.getFirstName().equals("firstName"))
+                .verifyComplete();
+    }
+
     private DeveloperDto buildDeveloperDto(Long id, String email) {
         return DeveloperDto.builder()
                 .id(id)
@@ -159,9 +1039,13 @@ class DeveloperRestControllerV1IT {
     }
 
     private Developer buildDeveloper() {
+        return buildDeveloper("email");
+    }
+
+    private Developer buildDeveloper(String email) {
         return Developer.builder()
                 .id(null)
-                .email("email")
+                .email(email)
                 .firstName("firstName")
                 .lastName("lastName")
                 .speciality("speciality")
@@ -0,0 +1,58 @@
+package edu.jcourse.qa.integration.rest;
+
+import edu.jcourse.qa.config.PostgreTestcontainerConfig;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.rate-limit.enabled=true",
+        "app.rate-limit.trusted-proxies=127.0.0.1,::1",
+        "app.rate-limit.endpoints[0].name=reads",
+        "app.rate-limit.endpoints[0].methods=GET",
+        "app.rate-limit.endpoints[0].paths=/api/v1/developers/**",
+        "app.rate-limit.endpoints[0].permits-per-second=0.1",
+        "app.rate-limit.endpoints[0].burst=1"
+})
+@AutoConfigureWebTestClient
+@Import(PostgreTestcontainerConfig.class)
+@RequiredArgsConstructor
+class RateLimitWebFilterIT {
+
+    private final WebTestClient webTestClient;
+
+    @Test
+    @DisplayName("Test rate limit rejects client over its rate functionality")
+    void findByIdWhenRateExceeded() {
+        webTestClient
+                .get()
+                .uri("/api/v1/developers/{id}", 1)
+                .header("X-Client-Id", "limited")
+                .exchange()
+                .expectStatus().isNotFound();
+
+        webTestClient
+                .get()
+                .uri("/api/v1/developers/{id}", 1)
+                .header("X-Client-Id", "limited")
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.TOO_MANY_REQUESTS)
+                .expectHeader().valueEquals(HttpHeaders.RETRY_AFTER, "10")
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.errors[0].message").isEqualTo("Too many requests");
+
+        webTestClient
+                .get()
+                .uri("/api/v1/developers/{id}", 1)
+                .header("X-Client-Id", "other")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+}
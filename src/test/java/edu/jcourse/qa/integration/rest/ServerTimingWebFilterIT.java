@@ -0,0 +1,69 @@
+package edu.jcourse.qa.integration.rest;
+
+import edu.jcourse.qa.config.PostgreTestcontainerConfig;
+import edu.jcourse.qa.entity.Developer;
+import edu.jcourse.qa.entity.Status;
+import edu.jcourse.qa.repository.DeveloperRepository;
+import edu.jcourse.qa.rest.filter.ServerTimingWebFilter;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.server-timing.enabled=true"
+})
+@AutoConfigureWebTestClient
+@Import(PostgreTestcontainerConfig.class)
+@RequiredArgsConstructor
+class ServerTimingWebFilterIT {
+
+    private final WebTestClient webTestClient;
+    private final DeveloperRepository developerRepository;
+
+    @BeforeEach
+    void setUp() {
+        developerRepository.deleteAll().block();
+    }
+
+    @Test
+    @DisplayName("Test find all developers reports server timing functionality")
+    void findAllReportsServerTiming() {
+        developerRepository.save(Developer.builder()
+                        .email("email")
+                        .firstName("firstName")
+                        .lastName("lastName")
+                        .speciality("speciality")
+                        .status(Status.ACTIVE)
+                        .build())
+                .block();
+
+        webTestClient
+                .get()
+                .uri("/api/v1/developers")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().value(ServerTimingWebFilter.SERVER_TIMING_HEADER, serverTiming -> assertThat(serverTiming)
+                        .contains("pool;dur=", "db;dur=", ";desc=\"1 query, 1 rows\"", "ser;dur=", "total;dur="))
+                .expectBody()
+                .consumeWith(System.out::println);
+    }
+
+    @Test
+    @DisplayName("Test delete missing developer reports no updated rows functionality")
+    void deleteReportsUpdatedRows() {
+        webTestClient
+                .delete()
+                .uri("/api/v1/developers/{id}", Long.MAX_VALUE)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectHeader().value(ServerTimingWebFilter.SERVER_TIMING_HEADER, serverTiming -> assertThat(serverTiming)
+                        .contains(";desc=\"1 query, 0 rows\""));
+    }
+}
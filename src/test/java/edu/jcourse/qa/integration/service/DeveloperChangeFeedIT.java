@@ -0,0 +1,88 @@
+package edu.jcourse.qa.integration.service;
+
+import edu.jcourse.qa.config.PostgreTestcontainerConfig;
+import edu.jcourse.qa.dto.DeveloperChangeDto;
+import edu.jcourse.qa.entity.Developer;
+import edu.jcourse.qa.entity.Status;
+import edu.jcourse.qa.repository.DeveloperRepository;
+import edu.jcourse.qa.service.DeveloperChangeFeed;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+@SpringBootTest
+@Import(PostgreTestcontainerConfig.class)
+@RequiredArgsConstructor
+class DeveloperChangeFeedIT {
+
+    private final DeveloperChangeFeed developerChangeFeed;
+    private final DeveloperRepository developerRepository;
+    private final ConnectionFactory connectionFactory;
+
+    @BeforeEach
+    public void setUp() {
+        developerRepository.deleteAll().block();
+    }
+
+    @Test
+    @DisplayName("Test change committed after a later offset is still delivered functionality")
+    void subscribeWhenTransactionsInterleave() {
+        awaitListening();
+        Connection connection = Mono.from(connectionFactory.create()).block();
+        AtomicReference<Long> earlyId = new AtomicReference<>();
+        try {
+            Mono.from(connection.beginTransaction()).block();
+            Long lateId = Flux.from(connection.createStatement("""
+                            INSERT INTO developer (email, first_name, last_name, speciality, status)
+                            VALUES ('late', 'firstName', 'lastName', 'speciality', 'ACTIVE')
+                            RETURNING id""")
+                            .execute())
+                    .flatMap(result -> result.map(row -> row.get("id", Long.class)))
+                    .blockLast();
+
+            StepVerifier.create(developerChangeFeed.subscribe(null)
+                            .map(DeveloperChangeDto::developerId)
+                            .filter(id -> id >= lateId))
+                    .then(() -> earlyId.set(developerRepository.save(buildDeveloper("early")).block().getId()))
+                    .expectNextMatches(id -> id.equals(earlyId.get()))
+                    .then(() -> Mono.from(connection.commitTransaction()).block())
+                    .expectNext(lateId)
+                    .thenCancel()
+                    .verify(Duration.ofSeconds(10));
+        } finally {
+            Mono.from(connection.close()).block();
+        }
+    }
+
+    /**
+     * The feed connects on startup, so developers are written until one of them is seen live.
+     */
+    private void awaitListening() {
+        Flux.interval(Duration.ZERO, Duration.ofMillis(200))
+                .concatMap(attempt -> developerRepository.save(buildDeveloper("warm-up" + attempt)))
+                .takeUntilOther(developerChangeFeed.subscribe(null).next())
+                .then()
+                .block(Duration.ofSeconds(10));
+    }
+
+    private Developer buildDeveloper(String email) {
+        return Developer.builder()
+                .email(email)
+                .firstName("firstName")
+                .lastName("lastName")
+                .speciality("speciality")
+                .status(Status.ACTIVE)
+                .build();
+    }
+}
@@ -1,21 +1,40 @@
 package edu.jcourse.qa.rest;
 
+import edu.jcourse.qa.dto.BatchResultDto;
+import edu.jcourse.qa.dto.DeveloperChangeDto;
 import edu.jcourse.qa.dto.DeveloperDto;
+import edu.jcourse.qa.dto.DeveloperMatchDto;
+import edu.jcourse.qa.dto.DeveloperStatsDto;
+import edu.jcourse.qa.entity.ChangeType;
 import edu.jcourse.qa.entity.Status;
+import edu.jcourse.qa.exception.ApiException;
 import edu.jcourse.qa.service.DeveloperService;
+import edu.jcourse.qa.util.CursorUtils;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyFloat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ComponentScan(basePackages = "edu.jcourse.qa.rest.handler")
@@ -49,6 +68,28 @@ class DeveloperRestControllerV1Tests {
         verifyNoMoreInteractions(developerService);
     }
 
+    @Test
+    @DisplayName("Test create developer with idempotency key functionality")
+    void createWithIdempotencyKey() {
+        DeveloperDto developerDto = buildDeveloperDto(null, "email");
+        doReturn(Mono.just(buildDeveloperDto(1L, "email"))).when(developerService).save(any(), anyString());
+
+        webTestClient
+                .post()
+                .uri("/api/v1/developers")
+                .header(DeveloperRestControllerV1.IDEMPOTENCY_KEY_HEADER, "key")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(developerDto)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.id").isEqualTo(1);
+
+        verify(developerService).save(developerDto, "key");
+        verifyNoMoreInteractions(developerService);
+    }
+
     @Test
     @DisplayName("Test create developer when failure functionality")
     void createWhenFailure() {
@@ -72,6 +113,31 @@ class DeveloperRestControllerV1Tests {
     }
 
 
+    @Test
+    @DisplayName("Test batch create developers functionality")
+    void createAllWhenSuccess() {
+        doReturn(Flux.just(
+                new BatchResultDto(1L, "email", BatchResultDto.Outcome.CREATED),
+                new BatchResultDto(null, "email2", BatchResultDto.Outcome.CONFLICT)))
+                .when(developerService).saveAll(any());
+
+        webTestClient
+                .post()
+                .uri("/api/v1/developers/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(buildDeveloperDto(null, "email"), buildDeveloperDto(null, "email2")))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.size()").isEqualTo(2)
+                .jsonPath("$[0].outcome").isEqualTo("CREATED")
+                .jsonPath("$[1].outcome").isEqualTo("CONFLICT");
+
+        verify(developerService).saveAll(any());
+        verifyNoMoreInteractions(developerService);
+    }
+
     @Test
     @DisplayName("Test update developer when success functionality")
     void updateWhenSuccess() {
@@ -117,24 +183,267 @@ class DeveloperRestControllerV1Tests {
         verifyNoMoreInteractions(developerService);
     }
 
+    @Test
+    @DisplayName("Test patch developer when failure functionality")
+    void patchWhenFailure() {
+        DeveloperDto developerDto = DeveloperDto.builder().speciality("speciality2").build();
+        doReturn(Mono.empty()).when(developerService).patch(any(), any());
+
+        webTestClient
+                .patch()
+                .uri("/api/v1/developers/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(developerDto)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.errors[0].status").isEqualTo(HttpStatus.NOT_FOUND.value())
+                .jsonPath("$.errors[0].message").isEqualTo("Developer not found");
+
+        verify(developerService).patch(1L, developerDto);
+        verifyNoMoreInteractions(developerService);
+    }
+
+    @Test
+    @DisplayName("Test find developer by id when not modified functionality")
+    void findByIdWhenNotModified() {
+        DeveloperDto expectedResult = buildDeveloperDto(1L, "email").withVersion(3L);
+        doReturn(Mono.just(expectedResult)).when(developerService).findById(any(), anyBoolean());
+
+        webTestClient
+                .get()
+                .uri("/api/v1/developers/1")
+                .ifNoneMatch("\"3\"")
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"3\"")
+                .expectBody().isEmpty();
+
+        verify(developerService).findById(1L, false);
+        verifyNoMoreInteractions(developerService);
+    }
+
+    @Test
+    @DisplayName("Test find deleted developer by id functionality")
+    void findByIdWhenIncludeDeleted() {
+        DeveloperDto expectedResult = buildDeveloperDto(1L, "email").withVersion(2L);
+        doReturn(Mono.just(expectedResult)).when(developerService).findById(any(), anyBoolean());
+
+        webTestClient
+                .get()
+                .uri("/api/v1/developers/1?includeDeleted=true")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.id").isEqualTo(1);
+
+        verify(developerService).findById(1L, true);
+        verifyNoMoreInteractions(developerService);
+    }
+
+    @Test
+    @DisplayName("Test restore developer when success functionality")
+    void restoreWhenSuccess() {
+        DeveloperDto expectedResult = buildDeveloperDto(1L, "email").withVersion(2L);
+        doReturn(Mono.just(expectedResult)).when(developerService).restore(any());
+
+        webTestClient
+                .post()
+                .uri("/api/v1/developers/1/restore")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"2\"")
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.id").isEqualTo(1);
+
+        verify(developerService).restore(1L);
+        verifyNoMoreInteractions(developerService);
+    }
+
+    @Test
+    @DisplayName("Test restore developer when failure functionality")
+    void restoreWhenFailure() {
+        doReturn(Mono.empty()).when(developerService).restore(any());
+
+        webTestClient
+                .post()
+                .uri("/api/v1/developers/1/restore")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.errors[0].message").isEqualTo("Developer not found");
+
+        verify(developerService).restore(1L);
+        verifyNoMoreInteractions(developerService);
+    }
+
+    @Test
+    @DisplayName("Test soft delete developer when version does not match functionality")
+    void deleteSoftWhenPreconditionFailed() {
+        doReturn(Mono.error(new ApiException(HttpStatus.CONFLICT, "Developer was modified concurrently")))
+                .when(developerService).softDeleteById(any(), anyLong());
+
+        webTestClient
+                .delete()
+                .uri("/api/v1/developers/1")
+                .ifMatch("\"3\"")
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED)
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.errors[0].status").isEqualTo(HttpStatus.PRECONDITION_FAILED.value());
+
+        verify(developerService).softDeleteById(1L, 3L);
+        verifyNoMoreInteractions(developerService);
+    }
+
     @Test
     @DisplayName("Test find all developers when success functionality")
     void findAllWhenSuccess() {
         DeveloperDto expectedResult = buildDeveloperDto(1L, "email");
-        doReturn(Flux.just(expectedResult)).when(developerService).findAll();
+        doReturn(Flux.just(expectedResult)).when(developerService).findAll(anyLong(), anyInt(), anyBoolean());
 
         webTestClient
                 .get()
                 .uri("/api/v1/developers")
                 .exchange()
                 .expectStatus().isOk()
+                .expectHeader().doesNotExist(DeveloperRestControllerV1.NEXT_CURSOR_HEADER)
                 .expectBody()
                 .consumeWith(System.out::println)
                 .jsonPath("$.size()").isEqualTo(1)
                 .jsonPath("$[0].id").isEqualTo(1)
                 .jsonPath("$[0].email").isEqualTo("email");
 
-        verify(developerService).findAll();
+        verify(developerService).findAll(0L, 101, false);
+        verifyNoMoreInteractions(developerService);
+    }
+
+    @Test
+    @DisplayName("Test find all developers when next page exists functionality")
+    void findAllWhenNextPageExists() {
+        doReturn(Flux.just(buildDeveloperDto(1L, "email"), buildDeveloperDto(2L, "email2")))
+                .when(developerService).findAll(anyLong(), anyInt(), anyBoolean());
+
+        webTestClient
+                .get()
+                .uri("/api/v1/developers?limit=1&after={after}", CursorUtils.encode(5L))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(DeveloperRestControllerV1.NEXT_CURSOR_HEADER, CursorUtils.encode(1L))
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.size()").isEqualTo(1)
+                .jsonPath("$[0].id").isEqualTo(1);
+
+        verify(developerService).findAll(5L, 2, false);
+        verifyNoMoreInteractions(developerService);
+    }
+
+    @Test
+    @DisplayName("Test find all developers when cursor is invalid functionality")
+    void findAllWhenInvalidCursor() {
+        webTestClient
+                .get()
+                .uri("/api/v1/developers?after=broken")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.errors[0].message").isEqualTo("Invalid cursor");
+
+        verifyNoInteractions(developerService);
+    }
+
+    @Test
+    @DisplayName("Test search developers when next page exists functionality")
+    void searchWhenNextPageExists() {
+        doReturn(Flux.just(new DeveloperMatchDto(buildDeveloperDto(3L, "anna"), 0.9f),
+                new DeveloperMatchDto(buildDeveloperDto(1L, "annabel"), 0.5f)))
+                .when(developerService).search(anyString(), anyFloat(), anyLong(), anyInt());
+
+        webTestClient
+                .get()
+                .uri("/api/v1/developers/search?q=ann&limit=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(DeveloperRestControllerV1.NEXT_CURSOR_HEADER, CursorUtils.encode(0.9f, 3L))
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.size()").isEqualTo(1)
+                .jsonPath("$[0].id").isEqualTo(3);
+
+        verify(developerService).search("ann", CursorUtils.RankedPosition.FIRST.score(), 0L, 2);
+        verifyNoMoreInteractions(developerService);
+    }
+
+    @Test
+    @DisplayName("Test search developers when cursor is invalid functionality")
+    void searchWhenInvalidCursor() {
+        webTestClient
+                .get()
+                .uri("/api/v1/developers/search?q=ann&after={after}", CursorUtils.encode(5L))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.errors[0].message").isEqualTo("Invalid cursor");
+
+        verifyNoInteractions(developerService);
+    }
+
+    @Test
+    @DisplayName("Test stream all developers as ndjson functionality")
+    void streamAllWhenSuccess() {
+        doReturn(Flux.just(buildDeveloperDto(1L, "email"), buildDeveloperDto(2L, "email2")))
+                .when(developerService).findAll(false);
+
+        webTestClient
+                .get()
+                .uri("/api/v1/developers")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(DeveloperDto.class)
+                .getResponseBody()
+                .as(StepVerifier::create)
+                .expectNextCount(2)
+                .verifyComplete();
+
+        verify(developerService).findAll(false);
+        verifyNoMoreInteractions(developerService);
+    }
+
+    @Test
+    @DisplayName("Test stream developer changes as server-sent events functionality")
+    void streamChangesWhenSuccess() {
+        DeveloperChangeDto change = DeveloperChangeDto.builder()
+                .offset(6L)
+                .developerId(1L)
+                .type(ChangeType.CREATED)
+                .build();
+        doReturn(Flux.just(change)).when(developerService).findChanges(any());
+
+        webTestClient
+                .get()
+                .uri("/api/v1/developers/changes")
+                .header("Last-Event-ID", "5")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<DeveloperChangeDto>>() {
+                })
+                .getResponseBody()
+                .as(StepVerifier::create)
+                .expectNextMatches(event -> "6".equals(event.id()) && "CREATED".equals(event.event()))
+                .verifyComplete();
+
+        verify(developerService).findChanges(5L);
         verifyNoMoreInteractions(developerService);
     }
 
@@ -189,6 +498,50 @@ class DeveloperRestControllerV1Tests {
         verifyNoMoreInteractions(developerService);
     }
 
+    @Test
+    @DisplayName("Test find developers by ids functionality")
+    void findAllByIdWhenSuccess() {
+        doReturn(Flux.just(buildDeveloperDto(2L, "email2"), buildDeveloperDto(1L, "email")))
+                .when(developerService).findAllById(any(), anyBoolean());
+
+        webTestClient
+                .get()
+                .uri("/api/v1/developers?ids=2,1,3")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.size()").isEqualTo(2)
+                .jsonPath("$[0].id").isEqualTo(2)
+                .jsonPath("$[1].id").isEqualTo(1);
+
+        verify(developerService).findAllById(List.of(2L, 1L, 3L), false);
+        verifyNoMoreInteractions(developerService);
+    }
+
+    @Test
+    @DisplayName("Test find stats functionality")
+    void findStatsWhenSuccess() {
+        DeveloperStatsDto stats = new DeveloperStatsDto(Map.of(Status.ACTIVE, 3L, Status.DELETED, 1L), List.of(
+                new DeveloperStatsDto.SpecialityStats("java", Map.of(Status.ACTIVE, 2L)),
+                new DeveloperStatsDto.SpecialityStats("go", Map.of(Status.ACTIVE, 1L, Status.DELETED, 1L))));
+        doReturn(Mono.just(stats)).when(developerService).findStats();
+
+        webTestClient
+                .get()
+                .uri("/api/v1/developers/stats")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.headcount.ACTIVE").isEqualTo(3)
+                .jsonPath("$.specialities[0].speciality").isEqualTo("java")
+                .jsonPath("$.specialities[1].headcount.DELETED").isEqualTo(1);
+
+        verify(developerService).findStats();
+        verifyNoMoreInteractions(developerService);
+    }
+
     private DeveloperDto buildDeveloperDto(Long id, String email) {
         return DeveloperDto.builder()
                 .id(id)
@@ -0,0 +1,132 @@
+package edu.jcourse.qa.rest.codec;
+
+import edu.jcourse.qa.dto.DeveloperDto;
+import edu.jcourse.qa.entity.Status;
+import edu.jcourse.qa.util.CsvUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DeveloperCsvCodecTests {
+    private static final ResolvableType DEVELOPER_TYPE = ResolvableType.forClass(DeveloperDto.class);
+
+    private final DeveloperCsvEncoder encoder = new DeveloperCsvEncoder();
+    private final DeveloperCsvDecoder decoder = new DeveloperCsvDecoder();
+
+    @Test
+    @DisplayName("Test csv codec applies only when requested functionality")
+    void canEncodeOnlyCsv() {
+        assertThat(encoder.canEncode(DEVELOPER_TYPE, CsvUtils.TEXT_CSV)).isTrue();
+        assertThat(encoder.canEncode(DEVELOPER_TYPE, null)).isFalse();
+        assertThat(encoder.canEncode(DEVELOPER_TYPE, MediaType.APPLICATION_JSON)).isFalse();
+        assertThat(decoder.canDecode(DEVELOPER_TYPE, null)).isFalse();
+        assertThat(decoder.canDecode(ResolvableType.forClass(String.class), CsvUtils.TEXT_CSV)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Test encode developers with quoted values functionality")
+    void encodeWithQuotedValues() {
+        DeveloperDto developer = buildDeveloperDto(1L, "email", "Smith, \"Jr\"");
+
+        String csv = encode(Flux.just(developer, buildDeveloperDto(null, "email2", "lastName")));
+
+        assertThat(csv).isEqualTo("""
+                id,email,first_name,last_name,speciality,status,version
+                1,email,firstName,"Smith, ""Jr\""",speciality,ACTIVE,0
+                ,email2,firstName,lastName,speciality,ACTIVE,0
+                """);
+    }
+
+    @Test
+    @DisplayName("Test decode what was encoded functionality")
+    void decodeEncoded() {
+        DeveloperDto developer = buildDeveloperDto(1L, "email", "Smith, \"Jr\"");
+
+        StepVerifier.create(decode(encode(Flux.just(developer))))
+                .expectNext(developer)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Test decode rows split across buffers with reordered columns functionality")
+    void decodeAcrossBuffers() {
+        Flux<DataBuffer> content = Flux.just("email,last_name,first_", "name,speciality\r\nemail,last", "Name,firstName,speciality\r\n")
+                .map(chunk -> DefaultDataBufferFactory.sharedInstance.wrap(chunk.getBytes(StandardCharsets.UTF_8)));
+
+        StepVerifier.create(decoder.decode(content, DEVELOPER_TYPE, CsvUtils.TEXT_CSV, Map.of()))
+                .expectNext(DeveloperDto.builder()
+                        .email("email")
+                        .firstName("firstName")
+                        .lastName("lastName")
+                        .speciality("speciality")
+                        .build())
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Test decode invalid row as empty developer functionality")
+    void decodeInvalidRow() {
+        StepVerifier.create(decode("""
+                        id,email,status
+                        x,email,ACTIVE
+                        ,"email2,ACTIVE
+                        ,email3,UNKNOWN
+                        """))
+                .expectNext(DeveloperDto.builder().build())
+                .expectNext(DeveloperDto.builder().build())
+                .expectNext(DeveloperDto.builder().build())
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Test decode without email column functionality")
+    void decodeWithoutEmailColumn() {
+        StepVerifier.create(decode("""
+                        id,first_name
+                        1,firstName
+                        """))
+                .expectError(DecodingException.class)
+                .verify();
+    }
+
+    private String encode(Flux<DeveloperDto> developers) {
+        return encoder.encode(developers, DefaultDataBufferFactory.sharedInstance, DEVELOPER_TYPE, CsvUtils.TEXT_CSV, Map.of())
+                .map(buffer -> {
+                    String row = buffer.toString(StandardCharsets.UTF_8);
+                    DataBufferUtils.release(buffer);
+                    return row;
+                })
+                .collect(Collectors.joining())
+                .block();
+    }
+
+    private Flux<DeveloperDto> decode(String csv) {
+        return decoder.decode(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(csv.getBytes(StandardCharsets.UTF_8))),
+                DEVELOPER_TYPE, CsvUtils.TEXT_CSV, Map.of());
+    }
+
+    private DeveloperDto buildDeveloperDto(Long id, String email, String lastName) {
+        return DeveloperDto.builder()
+                .id(id)
+                .email(email)
+                .firstName("firstName")
+                .lastName(lastName)
+                .speciality("speciality")
+                .status(Status.ACTIVE)
+                .version(0L)
+                .build();
+    }
+}
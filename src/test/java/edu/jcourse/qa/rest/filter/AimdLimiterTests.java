@@ -0,0 +1,89 @@
+package edu.jcourse.qa.rest.filter;
+
+import edu.jcourse.qa.config.RateLimitProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AimdLimiterTests {
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofSeconds(1).toNanos();
+
+    @Test
+    @DisplayName("Test limiter rejects when limit is reached functionality")
+    void tryAcquireWhenLimitReached() {
+        AimdLimiter limiter = buildLimiter(2);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Test limiter grows on fast responses functionality")
+    void releaseWhenFast() {
+        AimdLimiter limiter = buildLimiter(2);
+
+        limiter.tryAcquire();
+        limiter.release(FAST, false);
+
+        assertThat(limiter.getLimit()).isEqualTo(3);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Test limiter shrinks on overloaded responses functionality")
+    void releaseWhenOverloaded() {
+        AimdLimiter limiter = buildLimiter(10);
+
+        limiter.tryAcquire();
+        limiter.release(FAST, true);
+
+        assertThat(limiter.getLimit()).isEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("Test limiter shrinks only when the sample window is slow functionality")
+    void releaseWhenSlowWindow() {
+        AimdLimiter limiter = buildLimiter(10);
+
+        limiter.tryAcquire();
+        limiter.release(SLOW, false);
+        assertThat(limiter.getLimit()).isEqualTo(10);
+
+        limiter.tryAcquire();
+        limiter.release(SLOW, false);
+        assertThat(limiter.getLimit()).isEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("Test limiter releases without a latency sample functionality")
+    void releaseWithoutSample() {
+        AimdLimiter limiter = buildLimiter(2);
+
+        limiter.tryAcquire();
+        limiter.release();
+
+        assertThat(limiter.getLimit()).isEqualTo(2);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Test limiter keeps limit within bounds functionality")
+    void releaseWhenAtBounds() {
+        AimdLimiter limiter = buildLimiter(1);
+
+        limiter.tryAcquire();
+        limiter.release(SLOW, true);
+
+        assertThat(limiter.getLimit()).isEqualTo(1);
+    }
+
+    private AimdLimiter buildLimiter(int initialLimit) {
+        return new AimdLimiter(new RateLimitProperties.Concurrency(initialLimit, 1, 16, Duration.ofMillis(100), 0.8, 2));
+    }
+}
@@ -0,0 +1,34 @@
+package edu.jcourse.qa.rest.filter;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTests {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    @DisplayName("Test token bucket allows burst then waits for refill functionality")
+    void tryAcquireWhenBurstExhausted() {
+        TokenBucket bucket = new TokenBucket(2, 3, 0L);
+
+        assertThat(bucket.tryAcquire(0L)).isZero();
+        assertThat(bucket.tryAcquire(0L)).isZero();
+        assertThat(bucket.tryAcquire(0L)).isZero();
+        assertThat(bucket.tryAcquire(0L)).isEqualTo(SECOND / 2);
+        assertThat(bucket.tryAcquire(SECOND / 2)).isZero();
+    }
+
+    @Test
+    @DisplayName("Test token bucket refills up to burst only functionality")
+    void tryAcquireWhenIdle() {
+        TokenBucket bucket = new TokenBucket(1, 2, 0L);
+
+        assertThat(bucket.tryAcquire(100 * SECOND)).isZero();
+        assertThat(bucket.tryAcquire(100 * SECOND)).isZero();
+        assertThat(bucket.tryAcquire(100 * SECOND)).isEqualTo(SECOND);
+    }
+}